@@ -0,0 +1,11 @@
+package com.paginate;
+
+/**
+ * Callbacks that load pages by themselves and have in-flight requests to cancel. Paginate cancels them when it is
+ * unbound, also when they are wrapped in {@link PushLoadState}.
+ */
+public interface Cancellable {
+
+	/** Cancel all in-flight requests. Results of cancelled requests are never delivered. */
+	void cancel();
+}
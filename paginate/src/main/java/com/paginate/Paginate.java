@@ -41,6 +41,44 @@ public abstract class Paginate {
 	 */
 	abstract public void setHasMoreDataToLoad(boolean hasMoreDataToLoad);
 
+	/**
+	 * Use this method to indicate that loading of the next page has started. Available only when push load state is
+	 * enabled on the Builder, in which case {@link Callbacks#isLoading()} and {@link Callbacks#hasLoadedAllItems()}
+	 * are never called and loading state is kept by the Paginate itself.
+	 * <p/>
+	 * Calling this method is optional if loading is started from {@link Callbacks#onLoadMore()}, since loading state
+	 * is set right before that call.
+	 */
+	public void notifyLoadStarted() {
+		requirePushLoadState().onLoadStarted();
+	}
+
+	/**
+	 * Use this method to indicate that loading of the page has finished (successfully or not). Available only when
+	 * push load state is enabled on the Builder. Loading row, if used, is added/removed based on the given value.
+	 *
+	 * @param hasMoreDataToLoad true if there is more data to load, false otherwise.
+	 */
+	public void notifyLoadFinished(boolean hasMoreDataToLoad) {
+		requirePushLoadState().onLoadFinished(hasMoreDataToLoad);
+		setHasMoreDataToLoad(hasMoreDataToLoad);
+	}
+
+	/**
+	 * @return push load state used by this Paginate or null if loading state is polled from {@link Callbacks}.
+	 */
+	protected PushLoadState getPushLoadState() {
+		return null;
+	}
+
+	private PushLoadState requirePushLoadState() {
+		PushLoadState pushLoadState = getPushLoadState();
+		if (pushLoadState == null) {
+			throw new IllegalStateException("Push load state needs to be enabled on the Builder");
+		}
+		return pushLoadState;
+	}
+
 	/**
 	 * Call unbind to detach list (RecyclerView or AbsListView) from Paginate when pagination functionality is no
 	 * longer needed on the list.
@@ -51,6 +89,21 @@ public abstract class Paginate {
 	 */
 	abstract public void unbind();
 
+	/**
+	 * Cancel in-flight requests of {@link Cancellable} callbacks, also when they are wrapped in {@link PushLoadState}.
+	 * Needs to be called from {@link #unbind()}.
+	 *
+	 * @param callbacks callbacks used by this Paginate.
+	 */
+	protected static void cancelLoading(Callbacks callbacks) {
+		if (callbacks instanceof PushLoadState) {
+			callbacks = ((PushLoadState) callbacks).getCallbacks();
+		}
+		if (callbacks instanceof Cancellable) {
+			((Cancellable) callbacks).cancel();
+		}
+	}
+
 	/**
 	 * Create pagination functionality upon RecyclerView.
 	 *
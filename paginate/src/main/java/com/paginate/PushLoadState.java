@@ -0,0 +1,47 @@
+package com.paginate;
+
+/**
+ * Callbacks wrapper that keeps loading state inside of the Paginate instead of polling {@link
+ * Paginate.Callbacks#isLoading()} and {@link Paginate.Callbacks#hasLoadedAllItems()} on each scroll event. State is
+ * pushed by calling {@link Paginate#notifyLoadStarted()} and {@link Paginate#notifyLoadFinished(boolean)}.
+ */
+public final class PushLoadState implements Paginate.Callbacks {
+
+	private final Paginate.Callbacks callbacks;
+	private boolean loading;
+	private boolean loadedAllItems;
+
+	public PushLoadState(Paginate.Callbacks callbacks) {
+		this.callbacks = callbacks;
+	}
+
+	@Override
+	public void onLoadMore() {
+		// Consider loading started right away so that load more is not called again until the state is pushed
+		loading = true;
+		callbacks.onLoadMore();
+	}
+
+	@Override
+	public boolean isLoading() {
+		return loading;
+	}
+
+	@Override
+	public boolean hasLoadedAllItems() {
+		return loadedAllItems;
+	}
+
+	Paginate.Callbacks getCallbacks() {
+		return callbacks;
+	}
+
+	void onLoadStarted() {
+		loading = true;
+	}
+
+	void onLoadFinished(boolean hasMoreDataToLoad) {
+		loading = false;
+		loadedAllItems = !hasMoreDataToLoad;
+	}
+}
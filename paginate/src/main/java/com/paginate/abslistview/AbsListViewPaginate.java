@@ -7,11 +7,13 @@ import android.widget.BaseAdapter;
 import android.widget.HeaderViewListAdapter;
 
 import com.paginate.Paginate;
+import com.paginate.PushLoadState;
 
 public final class AbsListViewPaginate extends Paginate implements EndScrollListener.Callback {
 
 	private final AbsListView absListView;
 	private final Callbacks callbacks;
+	private final PushLoadState pushLoadState;
 	private EndScrollListener scrollListener;
 	private WrapperAdapter wrapperAdapter;
 
@@ -20,9 +22,11 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 	                    int loadingTriggerThreshold,
 	                    AbsListView.OnScrollListener onScrollListener,
 	                    boolean addLoadingListItem,
-	                    LoadingListItemCreator loadingListItemCreator) {
+	                    LoadingListItemCreator loadingListItemCreator,
+	                    boolean preInflateLoadingRow) {
 		this.absListView = absListView;
 		this.callbacks = callbacks;
+		this.pushLoadState = callbacks instanceof PushLoadState ? (PushLoadState) callbacks : null;
 
 		// Attach scrolling listener in order to perform end offset check on each scroll event
 		scrollListener = new EndScrollListener(this);
@@ -44,6 +48,9 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 			wrapperAdapter = new WrapperAdapter(adapter, loadingListItemCreator);
 			adapter.registerDataSetObserver(dataSetObserver);
 			((AdapterView) absListView).setAdapter(wrapperAdapter);
+			if (preInflateLoadingRow) {
+				wrapperAdapter.preInflateLoadingRow(absListView);
+			}
 		}
 	}
 
@@ -54,6 +61,11 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 		}
 	}
 
+	@Override
+	protected PushLoadState getPushLoadState() {
+		return pushLoadState;
+	}
+
 	@Override
 	public void onEndReached() {
 		if (!callbacks.isLoading() && !callbacks.hasLoadedAllItems()) {
@@ -66,9 +78,13 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 		// Swap back original scroll listener
 		absListView.setOnScrollListener(scrollListener.getDelegateScrollListener());
 
+		// Cancel in-flight page requests
+		cancelLoading(callbacks);
+
 		// Swap back source adapter
 		if (absListView.getAdapter() instanceof WrapperAdapter) {
 			WrapperAdapter wrapperAdapter = (WrapperAdapter) absListView.getAdapter();
+			wrapperAdapter.cancelLoadingRowPreInflation();
 			BaseAdapter adapter = (BaseAdapter) wrapperAdapter.getWrappedAdapter();
 			adapter.unregisterDataSetObserver(dataSetObserver);
 			((AdapterView) absListView).setAdapter(adapter);
@@ -78,13 +94,14 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 	private final DataSetObserver dataSetObserver = new DataSetObserver() {
 		@Override
 		public void onChanged() {
-			wrapperAdapter.displayLoadingRow(!callbacks.hasLoadedAllItems());
+			// Single notification covers both source adapter change and loading row change
+			wrapperAdapter.updateLoadingRow(!callbacks.hasLoadedAllItems());
 			wrapperAdapter.notifyDataSetChanged();
 		}
 
 		@Override
 		public void onInvalidated() {
-			wrapperAdapter.displayLoadingRow(!callbacks.hasLoadedAllItems());
+			wrapperAdapter.updateLoadingRow(!callbacks.hasLoadedAllItems());
 			wrapperAdapter.notifyDataSetInvalidated();
 		}
 	};
@@ -97,6 +114,8 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 		private AbsListView.OnScrollListener onScrollListener;
 		private boolean addLoadingListItem = true;
 		private LoadingListItemCreator loadingListItemCreator;
+		private boolean preInflateLoadingRow = false;
+		private boolean pushLoadState = false;
 
 		public Builder(AbsListView absListView, Paginate.Callbacks callbacks) {
 			this.absListView = absListView;
@@ -155,6 +174,33 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 			return this;
 		}
 
+		/**
+		 * Inflate loading row view while the main thread is idle, right after Paginate is built, so that loading row
+		 * with expensive layout (e.g. shimmer skeleton) is not inflated while the list is scrolled. Disabled by
+		 * default.
+		 *
+		 * @param preInflateLoadingRow true if loading row needs to be inflated ahead of time, false otherwise.
+		 * @return {@link com.paginate.abslistview.AbsListViewPaginate.Builder}
+		 */
+		public Builder setPreInflateLoadingRow(boolean preInflateLoadingRow) {
+			this.preInflateLoadingRow = preInflateLoadingRow;
+			return this;
+		}
+
+		/**
+		 * Keep loading state inside of the Paginate instead of polling {@link Callbacks#isLoading()} and {@link
+		 * Callbacks#hasLoadedAllItems()} on each scroll event and adapter change. When enabled, loading state needs
+		 * to be pushed using {@link Paginate#notifyLoadStarted()} and {@link Paginate#notifyLoadFinished(boolean)}.
+		 * Disabled by default.
+		 *
+		 * @param pushLoadState true if loading state will be pushed, false if it should be polled from callbacks.
+		 * @return {@link com.paginate.abslistview.AbsListViewPaginate.Builder}
+		 */
+		public Builder setPushLoadState(boolean pushLoadState) {
+			this.pushLoadState = pushLoadState;
+			return this;
+		}
+
 		/**
 		 * Create pagination functionality upon AbsListView.
 		 *
@@ -169,8 +215,9 @@ public final class AbsListViewPaginate extends Paginate implements EndScrollList
 				loadingListItemCreator = LoadingListItemCreator.DEFAULT;
 			}
 
-			return new AbsListViewPaginate(absListView, callbacks, loadingTriggerThreshold, onScrollListener,
-					addLoadingListItem, loadingListItemCreator);
+			return new AbsListViewPaginate(absListView, pushLoadState ? new PushLoadState(callbacks) : callbacks,
+					loadingTriggerThreshold, onScrollListener,
+					addLoadingListItem, loadingListItemCreator, preInflateLoadingRow);
 		}
 	}
 
@@ -1,5 +1,7 @@
 package com.paginate.abslistview;
 
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.BaseAdapter;
@@ -11,6 +13,8 @@ class WrapperAdapter extends BaseAdapter implements WrapperListAdapter {
     private final BaseAdapter wrappedAdapter;
     private final LoadingListItemCreator loadingListItemCreator;
     private boolean displayLoadingRow = true;
+    private View preInflatedLoadingView;
+    private ViewGroup preInflationParent;
 
     public WrapperAdapter(BaseAdapter wrappedAdapter, LoadingListItemCreator loadingListItemCreator) {
         this.wrappedAdapter = wrappedAdapter;
@@ -39,7 +43,8 @@ class WrapperAdapter extends BaseAdapter implements WrapperListAdapter {
 
     @Override
     public int getViewTypeCount() {
-        return displayLoadingRow ? wrappedAdapter.getViewTypeCount() + 1 : wrappedAdapter.getViewTypeCount();
+        // View type count is kept constant so AbsListView can keep recycled views when loading row is toggled
+        return wrappedAdapter.getViewTypeCount() + 1;
     }
 
     @Override
@@ -55,7 +60,10 @@ class WrapperAdapter extends BaseAdapter implements WrapperListAdapter {
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
         if (isLoadingRow(position)) {
-            if (convertView == null) {
+            if (convertView == null && preInflatedLoadingView != null) {
+                convertView = preInflatedLoadingView;
+                preInflatedLoadingView = null;
+            } else if (convertView == null) {
                 convertView = loadingListItemCreator.newView(position, parent);
             }
             loadingListItemCreator.bindView(position, convertView);
@@ -66,12 +74,54 @@ class WrapperAdapter extends BaseAdapter implements WrapperListAdapter {
     }
 
     void displayLoadingRow(boolean displayLoadingRow) {
+        if (updateLoadingRow(displayLoadingRow)) {
+            notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Add/remove loading row without notifying observers. Use when notification is going to be dispatched anyway.
+     *
+     * @return true if loading row visibility has changed, false otherwise.
+     */
+    boolean updateLoadingRow(boolean displayLoadingRow) {
         if (this.displayLoadingRow != displayLoadingRow) {
             this.displayLoadingRow = displayLoadingRow;
-            notifyDataSetChanged();
+            return true;
         }
+        return false;
     }
 
+    /**
+     * Inflate loading row view while the main thread is idle, so that the first loading row is not inflated while the
+     * list is scrolled. AbsListView recycles the view afterwards.
+     *
+     * @param parent parent of the loading row view.
+     */
+    void preInflateLoadingRow(ViewGroup parent) {
+        if (preInflationParent == null && preInflatedLoadingView == null) {
+            preInflationParent = parent;
+            Looper.myQueue().addIdleHandler(preInflationHandler);
+        }
+    }
+
+    /** Cancel pending loading row inflation, used when Paginate is unbound. */
+    void cancelLoadingRowPreInflation() {
+        if (preInflationParent != null) {
+            Looper.myQueue().removeIdleHandler(preInflationHandler);
+            preInflationParent = null;
+        }
+    }
+
+    private final MessageQueue.IdleHandler preInflationHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            preInflatedLoadingView = loadingListItemCreator.newView(wrappedAdapter.getCount(), preInflationParent);
+            preInflationParent = null;
+            return false;
+        }
+    };
+
     boolean isLoadingRow(int position) {
         return displayLoadingRow && position == getLoadingRowPosition();
     }
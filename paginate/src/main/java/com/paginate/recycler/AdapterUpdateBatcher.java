@@ -0,0 +1,118 @@
+package com.paginate.recycler;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Collects wrapped adapter events and forwards them to the {@link WrapperAdapter}, merging overlapping or adjacent
+ * change ranges into single notification. Inserts, removals and moves are forwarded right away, because wrapped
+ * adapter data has already changed when they arrive and any layout before they are forwarded would bind stale
+ * positions. Pending changes are dispatched before them, so notifications stay in order. Batch is closed before the
+ * main thread handles next message.
+ */
+class AdapterUpdateBatcher {
+
+	private final WrapperAdapter wrapperAdapter;
+	private final Runnable onBatchDispatched;
+	private final Handler handler = new Handler(Looper.getMainLooper());
+	private final Runnable flushRunnable = new Runnable() {
+		@Override
+		public void run() {
+			flush();
+		}
+	};
+
+	private boolean scheduled;
+	private boolean changePending;
+	private int pendingStart;
+	private int pendingCount;
+	private Object pendingPayload;
+
+	/**
+	 * @param wrapperAdapter    adapter that will receive merged notifications.
+	 * @param onBatchDispatched called once after each batch has been dispatched.
+	 */
+	AdapterUpdateBatcher(WrapperAdapter wrapperAdapter, Runnable onBatchDispatched) {
+		this.wrapperAdapter = wrapperAdapter;
+		this.onBatchDispatched = onBatchDispatched;
+	}
+
+	void onChanged() {
+		// Whole data set changed so pending change range is superseded
+		changePending = false;
+		pendingPayload = null;
+		wrapperAdapter.notifyDataSetChanged();
+		schedule();
+	}
+
+	void onItemRangeInserted(int positionStart, int itemCount) {
+		dispatchPending();
+		wrapperAdapter.notifyWrappedItemRangeInserted(positionStart, itemCount);
+		schedule();
+	}
+
+	void onItemRangeRemoved(int positionStart, int itemCount) {
+		dispatchPending();
+		wrapperAdapter.notifyItemRangeRemoved(wrapperAdapter.getWrapperPosition(positionStart), itemCount);
+		schedule();
+	}
+
+	void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+		if (changePending && pendingPayload == payload
+				&& positionStart <= pendingStart + pendingCount && positionStart + itemCount >= pendingStart) {
+			int end = Math.max(pendingStart + pendingCount, positionStart + itemCount);
+			pendingStart = Math.min(pendingStart, positionStart);
+			pendingCount = end - pendingStart;
+		} else {
+			dispatchPending();
+			changePending = true;
+			pendingStart = positionStart;
+			pendingCount = itemCount;
+			pendingPayload = payload;
+		}
+		schedule();
+	}
+
+	void onItemRangeMoved(int fromPosition, int toPosition) {
+		dispatchPending();
+		wrapperAdapter.notifyItemMoved(wrapperAdapter.getWrapperPosition(fromPosition),
+				wrapperAdapter.getWrapperPosition(toPosition));
+		schedule();
+	}
+
+	/** Dispatch pending updates right away. Needs to be called before wrapper adapter notifies its own changes. */
+	void flush() {
+		if (!scheduled) {
+			return;
+		}
+		handler.removeCallbacks(flushRunnable);
+		scheduled = false;
+		dispatchPending();
+		onBatchDispatched.run();
+	}
+
+	/** Drop pending updates, used when wrapper adapter is detached. */
+	void cancel() {
+		handler.removeCallbacks(flushRunnable);
+		scheduled = false;
+		changePending = false;
+		pendingPayload = null;
+	}
+
+	private void dispatchPending() {
+		if (changePending) {
+			changePending = false;
+			wrapperAdapter.notifyItemRangeChanged(wrapperAdapter.getWrapperPosition(pendingStart), pendingCount,
+					pendingPayload);
+			pendingPayload = null;
+		}
+	}
+
+	private void schedule() {
+		if (!scheduled) {
+			scheduled = true;
+			// Posting at front of the queue runs the flush before any pending input or traversal message
+			handler.postAtFrontOfQueue(flushRunnable);
+		}
+	}
+}
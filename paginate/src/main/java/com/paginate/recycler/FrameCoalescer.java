@@ -0,0 +1,84 @@
+package com.paginate.recycler;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Runs an action at most once per display frame no matter how many times it has been scheduled within that frame.
+ * {@link Choreographer} is used on Jelly Bean and newer, main thread {@link Handler} otherwise.
+ */
+class FrameCoalescer {
+
+	private final Runnable action;
+	private final Runnable runnable = new Runnable() {
+		@Override
+		public void run() {
+			scheduled = false;
+			action.run();
+		}
+	};
+	private final FrameCallbackCompat frameCallback;
+	private final Handler handler;
+	private boolean scheduled;
+
+	FrameCoalescer(Runnable action) {
+		this.action = action;
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			frameCallback = new FrameCallbackCompat(runnable);
+			handler = null;
+		} else {
+			frameCallback = null;
+			handler = new Handler(Looper.getMainLooper());
+		}
+	}
+
+	void schedule() {
+		if (scheduled) {
+			return;
+		}
+		scheduled = true;
+		if (frameCallback != null) {
+			frameCallback.post();
+		} else {
+			handler.post(runnable);
+		}
+	}
+
+	void cancel() {
+		if (!scheduled) {
+			return;
+		}
+		scheduled = false;
+		if (frameCallback != null) {
+			frameCallback.remove();
+		} else {
+			handler.removeCallbacks(runnable);
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static class FrameCallbackCompat implements Choreographer.FrameCallback {
+
+		private final Runnable runnable;
+
+		FrameCallbackCompat(Runnable runnable) {
+			this.runnable = runnable;
+		}
+
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			runnable.run();
+		}
+
+		void post() {
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+
+		void remove() {
+			Choreographer.getInstance().removeFrameCallback(this);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.paginate.recycler;
+
+import android.os.SystemClock;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long it takes for a page to load (from the load more event until new items are inserted in the
+ * adapter) and keeps a moving percentile of the most recent samples.
+ */
+class LoadLatencyTracker {
+
+	private static final int MAX_SAMPLES = 16;
+
+	private final float percentile;
+	private final long[] samples = new long[MAX_SAMPLES];
+	private final long[] sortedSamples = new long[MAX_SAMPLES];
+	private int sampleCount;
+	private int nextSampleIndex;
+	private long loadStartTime = -1;
+	private long latencyMs;
+
+	LoadLatencyTracker(float percentile) {
+		this.percentile = percentile;
+	}
+
+	void onLoadStarted() {
+		loadStartTime = SystemClock.uptimeMillis();
+	}
+
+	void onLoadFinished() {
+		if (loadStartTime < 0) {
+			return;
+		}
+
+		samples[nextSampleIndex] = SystemClock.uptimeMillis() - loadStartTime;
+		nextSampleIndex = (nextSampleIndex + 1) % MAX_SAMPLES;
+		sampleCount = Math.min(sampleCount + 1, MAX_SAMPLES);
+		loadStartTime = -1;
+
+		// Recalculate percentile only when new sample arrives so that scroll path reads cached value
+		System.arraycopy(samples, 0, sortedSamples, 0, sampleCount);
+		Arrays.sort(sortedSamples, 0, sampleCount);
+		latencyMs = sortedSamples[Math.min(sampleCount - 1, (int) (percentile * sampleCount))];
+	}
+
+	/** @return load latency percentile in milliseconds or 0 if no page load has been measured yet. */
+	long getLatencyMs() {
+		return latencyMs;
+	}
+}
@@ -0,0 +1,115 @@
+package com.paginate.recycler;
+
+/**
+ * Sorted set of loading row positions (positions in the wrapper adapter) backed by primitive int array. Maps
+ * positions between wrapper and wrapped adapter in O(log k) without boxing, where k is number of loading rows. Each
+ * loading row gets a serial number when it is added, used as its stable ID.
+ */
+class LoadingPositions {
+
+	private int[] positions = new int[4];
+	private int[] serials = new int[4];
+	private int size;
+	private int nextSerial;
+
+	int size() {
+		return size;
+	}
+
+	boolean contains(int position) {
+		return binarySearch(position) >= 0;
+	}
+
+	/**
+	 * @param position position of the loading row in the wrapper adapter.
+	 * @return serial number assigned to the loading row when it was added, or -1 if there is no such row.
+	 */
+	int serialOf(int position) {
+		int index = binarySearch(position);
+		return index >= 0 ? serials[index] : -1;
+	}
+
+	boolean add(int position) {
+		int index = binarySearch(position);
+		if (index >= 0) {
+			return false;
+		}
+		index = -(index + 1);
+		if (size == positions.length) {
+			positions = grow(positions, size);
+			serials = grow(serials, size);
+		}
+		System.arraycopy(positions, index, positions, index + 1, size - index);
+		System.arraycopy(serials, index, serials, index + 1, size - index);
+		positions[index] = position;
+		serials[index] = nextSerial++;
+		size++;
+		return true;
+	}
+
+	boolean remove(int position) {
+		int index = binarySearch(position);
+		if (index < 0) {
+			return false;
+		}
+		System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+		System.arraycopy(serials, index + 1, serials, index, size - index - 1);
+		size--;
+		return true;
+	}
+
+	/**
+	 * Same contract as {@link java.util.Arrays#binarySearch(int[], int, int, int)}, which is not available on API 8.
+	 */
+	private int binarySearch(int position) {
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (positions[mid] < position) {
+				low = mid + 1;
+			} else if (positions[mid] > position) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * @param position position in the wrapper adapter that is not a loading row.
+	 * @return position of the same item in the wrapped adapter.
+	 */
+	int toWrappedPosition(int position) {
+		// Each loading row placed before the given position shifts the item by one
+		int index = binarySearch(position);
+		return position - (index >= 0 ? index : -(index + 1));
+	}
+
+	/**
+	 * @param wrappedPosition position in the wrapped adapter.
+	 * @return position of the same item in the wrapper adapter.
+	 */
+	int toWrapperPosition(int wrappedPosition) {
+		// Loading row at index j is placed before wrapped item i if positions[j] - j <= i. Since positions are
+		// strictly increasing positions[j] - j is non-decreasing, so number of such rows is found by binary search.
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (positions[mid] - mid <= wrappedPosition) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return wrappedPosition + low;
+	}
+
+	private static int[] grow(int[] array, int size) {
+		int[] grown = new int[size * 2];
+		System.arraycopy(array, 0, grown, 0, size);
+		return grown;
+	}
+}
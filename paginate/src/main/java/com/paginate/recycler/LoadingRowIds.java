@@ -0,0 +1,82 @@
+package com.paginate.recycler;
+
+/**
+ * Stable IDs of loading rows, used by wrapper adapters when the original adapter has stable IDs. IDs are
+ * deterministic per loading row slot, so RecyclerView can match loading rows across updates instead of rebinding and
+ * cross-fading them. IDs are taken from a reserved range at the very bottom of the long range, item IDs of the
+ * original adapter must stay outside of it (see {@link #isLoadingRowId(long)}).
+ */
+public final class LoadingRowIds {
+
+	private static final int KIND_START = 0;
+	private static final int KIND_END = 1;
+	private static final int KIND_INTERNAL_START = 2;
+	private static final int KIND_INTERNAL_END = 3;
+	private static final int KIND_DYNAMIC = 4;
+	private static final int KIND_PLACEHOLDER = 5;
+	private static final int KIND_GAP = 6;
+	private static final int KIND_COUNT = 7;
+
+	private LoadingRowIds() {
+	}
+
+	/** @return ID of the loading row at the start of the list. */
+	public static long start() {
+		return id(KIND_START, 0);
+	}
+
+	/**
+	 * @param serial serial number of the row at the end of the list, assigned when the row is inserted (0 for single
+	 *               loading row).
+	 * @return ID of the loading row at the end of the list.
+	 */
+	public static long end(int serial) {
+		return id(KIND_END, serial);
+	}
+
+	/** @return ID of the internal loading row that loads items towards the start of the list. */
+	public static long internalStart() {
+		return id(KIND_INTERNAL_START, 0);
+	}
+
+	/** @return ID of the internal loading row that loads items towards the end of the list. */
+	public static long internalEnd() {
+		return id(KIND_INTERNAL_END, 0);
+	}
+
+	/**
+	 * @param serial serial number of the dynamic loading row, assigned when the row is added.
+	 * @return ID of the dynamic loading row.
+	 */
+	public static long dynamic(int serial) {
+		return id(KIND_DYNAMIC, serial);
+	}
+
+	/**
+	 * @param position position of the item (that is not loaded yet) in the original adapter.
+	 * @return ID of the placeholder row.
+	 */
+	public static long placeholder(int position) {
+		return id(KIND_PLACEHOLDER, position);
+	}
+
+	/**
+	 * @param serial serial number of the gap, assigned when the gap is added.
+	 * @return ID of the gap loading row.
+	 */
+	public static long gap(int serial) {
+		return id(KIND_GAP, serial);
+	}
+
+	/**
+	 * @param id item ID.
+	 * @return true if ID belongs to the range reserved for loading rows, false otherwise.
+	 */
+	public static boolean isLoadingRowId(long id) {
+		return id < Long.MIN_VALUE + ((long) KIND_COUNT << 32);
+	}
+
+	private static long id(int kind, int index) {
+		return Long.MIN_VALUE + ((long) kind << 32) + (index & 0xFFFFFFFFL);
+	}
+}
@@ -0,0 +1,171 @@
+package com.paginate.recycler;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Keeps the list of items displayed by the original adapter and replaces it (e.g. on pull-to-refresh or when a
+ * refreshed page is merged) with minimal updates. Difference between the current and the new list is calculated with
+ * {@link DiffUtil} on a background executor and dispatched to the original adapter on the main thread, so Paginate
+ * wrapper adapters map the updates around loading rows instead of rebinding the whole list and scroll position is kept.
+ * <p/>
+ * Original adapter needs to read its items from {@link #getCurrentList()}. Methods need to be called on the main
+ * thread.
+ *
+ * @param <T> type of the items.
+ */
+public final class PageDiffer<T> {
+
+	/** Compares items of the current and the new list, called on the background executor. */
+	public interface ItemCallback<T> {
+
+		/**
+		 * @return true if both items represent the same entity (e.g. have the same ID), false otherwise.
+		 */
+		boolean areItemsTheSame(T oldItem, T newItem);
+
+		/**
+		 * Called only for items that are the same.
+		 *
+		 * @return true if displayed data of the items is the same, false if item needs to be rebound.
+		 */
+		boolean areContentsTheSame(T oldItem, T newItem);
+	}
+
+	private static ExecutorService defaultExecutor;
+
+	private final RecyclerView.Adapter adapter;
+	private final ItemCallback<T> itemCallback;
+	private final Executor executor;
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+	private List<T> currentList = Collections.emptyList();
+	// Incremented on each submission, so results of superseded calculations are dropped
+	private int generation;
+
+	/**
+	 * Create differ that calculates differences on a shared background thread.
+	 *
+	 * @param adapter      original adapter that displays the items.
+	 * @param itemCallback callback that compares items.
+	 */
+	public PageDiffer(RecyclerView.Adapter adapter, ItemCallback<T> itemCallback) {
+		this(adapter, itemCallback, getDefaultExecutor());
+	}
+
+	/**
+	 * @param adapter      original adapter that displays the items.
+	 * @param itemCallback callback that compares items.
+	 * @param executor     executor on which differences are calculated.
+	 */
+	public PageDiffer(RecyclerView.Adapter adapter, ItemCallback<T> itemCallback, Executor executor) {
+		this.adapter = adapter;
+		this.itemCallback = itemCallback;
+		this.executor = executor;
+	}
+
+	/** @return list of items that is currently displayed, not modifiable. */
+	public List<T> getCurrentList() {
+		return currentList;
+	}
+
+	/**
+	 * Replace displayed items with the given list. If submitted while the previous calculation is in progress, the
+	 * previous list is never displayed.
+	 *
+	 * @param newList new list of items, must not be modified after submission.
+	 */
+	public void submitList(List<T> newList) {
+		submitList(newList, null);
+	}
+
+	/**
+	 * Replace displayed items with the given list. If submitted while the previous calculation is in progress, the
+	 * previous list is never displayed.
+	 *
+	 * @param newList        new list of items, must not be modified after submission.
+	 * @param commitCallback called after updates are dispatched to the adapter, can be null.
+	 */
+	public void submitList(List<T> newList, final Runnable commitCallback) {
+		final int submission = ++generation;
+		final List<T> oldList = currentList;
+		final List<T> list = Collections.unmodifiableList(newList);
+
+		if (oldList.isEmpty() || list.isEmpty()) {
+			// Nothing to calculate, whole list is inserted or removed
+			currentList = list;
+			if (!oldList.isEmpty()) {
+				adapter.notifyItemRangeRemoved(0, oldList.size());
+			} else if (!list.isEmpty()) {
+				adapter.notifyItemRangeInserted(0, list.size());
+			}
+			if (commitCallback != null) {
+				commitCallback.run();
+			}
+			return;
+		}
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+					@Override
+					public int getOldListSize() {
+						return oldList.size();
+					}
+
+					@Override
+					public int getNewListSize() {
+						return list.size();
+					}
+
+					@Override
+					public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+						return itemCallback.areItemsTheSame(oldList.get(oldItemPosition), list.get(newItemPosition));
+					}
+
+					@Override
+					public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+						return itemCallback.areContentsTheSame(oldList.get(oldItemPosition), list.get(newItemPosition));
+					}
+				});
+
+				mainHandler.post(new Runnable() {
+					@Override
+					public void run() {
+						if (submission != generation) {
+							return; // Superseded by newer submission
+						}
+						currentList = list;
+						result.dispatchUpdatesTo(adapter);
+						if (commitCallback != null) {
+							commitCallback.run();
+						}
+					}
+				});
+			}
+		});
+	}
+
+	private static synchronized Executor getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			defaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "PageDiffer");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+}
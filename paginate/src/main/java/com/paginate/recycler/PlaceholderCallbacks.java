@@ -0,0 +1,29 @@
+package com.paginate.recycler;
+
+/**
+ * Callbacks used by placeholder mode, in which wrapped adapter reports the total number of items up front and pages are
+ * loaded on demand for whatever range becomes visible. Items of pages that are not loaded yet are displayed as loading
+ * rows (placeholders).
+ */
+public interface PlaceholderCallbacks {
+
+    /**
+     * Called when page that is not loaded (and not loading) becomes visible or is close to the visible range. When the
+     * page is loaded, notify wrapped adapter about changed range of the page so that placeholders get replaced.
+     *
+     * @param page index of the page (position of the item / page size).
+     */
+    void onLoadPage(int page);
+
+    /**
+     * @param page index of the page.
+     * @return true if page is currently loading, false otherwise.
+     */
+    boolean isPageLoading(int page);
+
+    /**
+     * @param page index of the page.
+     * @return true if items of the page are loaded, false if placeholders need to be displayed.
+     */
+    boolean isPageLoaded(int page);
+}
@@ -1,39 +1,123 @@
 package com.paginate.recycler;
 
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.StaggeredGridLayoutManager;
+import android.util.TypedValue;
+import android.widget.Scroller;
 
 import com.paginate.DynamicLoadingItemListener;
 import com.paginate.MultiPaginateInterface;
 import com.paginate.Paginate;
+import com.paginate.PushLoadState;
 
 public final class RecyclerPaginate extends Paginate implements DynamicLoadingItemListener {
 
+    // Time window (in ms) of scrolling that adaptive threshold tries to cover with items ahead of the viewport
+    private static final long ADAPTIVE_PREFETCH_WINDOW_MS = 1000;
+
     private final RecyclerView recyclerView;
     private final Callbacks callbacks;
+    private final PushLoadState pushLoadState;
     private final int loadingTriggerThreshold;
+    private final int maxLoadingTriggerThreshold;
+    private final boolean adaptiveLoadingTriggerThreshold;
+    private final float loadingTriggerScreens;
+    private final int loadingTriggerDistance;
+    private final int idlePrefetchThreshold;
+    private final ScrollSpeedTracker scrollSpeedTracker;
+    private final LoadLatencyTracker loadLatencyTracker;
+    private final Scroller flingScroller;
+    private final ScrollSpeedTracker flingVelocityTracker;
+    private final FrameCoalescer endOffsetCheckCoalescer;
+    private final int placeholderPageSize;
+    private final PlaceholderCallbacks placeholderCallbacks;
+    private final VisibleRangeProvider visibleRangeProvider;
+    private final int warmUpHoldersPerType;
+    private int scrollState = RecyclerView.SCROLL_STATE_IDLE;
     private WrapperAdapter wrapperAdapter;
+    private AdapterUpdateBatcher updateBatcher;
+    private ViewHolderWarmer viewHolderWarmer;
     private WrapperSpanSizeLookup wrapperSpanSizeLookup;
-
-    RecyclerPaginate(RecyclerView recyclerView,
-                     Paginate.Callbacks callbacks,
-                     int loadingTriggerThreshold,
-                     boolean addLoadingListItem,
-                     LoadingListItemCreator loadingListItemCreator,
-                     LoadingListItemSpanLookup loadingListItemSpanLookup) {
-        this.recyclerView = recyclerView;
-        this.callbacks = callbacks;
-        this.loadingTriggerThreshold = loadingTriggerThreshold;
+    private boolean idlePrefetchScheduled;
+
+    RecyclerPaginate(Builder builder) {
+        this.recyclerView = builder.recyclerView;
+        this.callbacks = builder.pushLoadState ? new PushLoadState(builder.callbacks) : builder.callbacks;
+        this.pushLoadState = callbacks instanceof PushLoadState ? (PushLoadState) callbacks : null;
+        this.loadingTriggerThreshold = builder.loadingTriggerThreshold;
+        this.maxLoadingTriggerThreshold = builder.maxLoadingTriggerThreshold;
+        this.adaptiveLoadingTriggerThreshold = builder.adaptiveLoadingTriggerThreshold;
+        this.loadingTriggerScreens = builder.loadingTriggerScreens;
+        this.loadingTriggerDistance = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+                builder.loadingTriggerDistanceDp, recyclerView.getResources().getDisplayMetrics());
+        this.idlePrefetchThreshold = builder.idlePrefetchThreshold;
+        this.placeholderPageSize = builder.placeholderPageSize;
+        this.placeholderCallbacks = builder.placeholderCallbacks;
+        this.visibleRangeProvider = builder.visibleRangeProvider;
+        this.warmUpHoldersPerType = builder.warmUpHoldersPerType;
+        this.loadLatencyTracker = builder.loadLatencyPercentile > 0
+                ? new LoadLatencyTracker(builder.loadLatencyPercentile)
+                : null;
+        this.scrollSpeedTracker = adaptiveLoadingTriggerThreshold || loadLatencyTracker != null
+                ? new ScrollSpeedTracker()
+                : null;
 
         // Attach scrolling listener in order to perform end offset check on each scroll event
         recyclerView.addOnScrollListener(mOnScrollListener);
 
-        if (addLoadingListItem) {
+        if (builder.coalesceChecksPerFrame) {
+            // Run at most one end offset check per frame no matter how many scroll and adapter events occur
+            endOffsetCheckCoalescer = new FrameCoalescer(new Runnable() {
+                @Override
+                public void run() {
+                    checkEndOffset();
+                }
+            });
+        } else {
+            endOffsetCheckCoalescer = null;
+        }
+
+        if (builder.flingPrediction) {
+            // Track drag velocity in order to perform end offset check upon predicted fling destination
+            flingScroller = new Scroller(recyclerView.getContext());
+            flingVelocityTracker = new ScrollSpeedTracker();
+        } else {
+            flingScroller = null;
+            flingVelocityTracker = null;
+        }
+
+        if (builder.addLoadingListItem) {
             // Wrap existing adapter with new adapter that will add loading row
             RecyclerView.Adapter adapter = recyclerView.getAdapter();
-            wrapperAdapter = new WrapperAdapter(adapter, loadingListItemCreator);
+            wrapperAdapter = new WrapperAdapter(adapter, builder.loadingListItemCreator);
+            if (placeholderCallbacks != null) {
+                wrapperAdapter.setPlaceholders(placeholderPageSize, placeholderCallbacks);
+            } else if (builder.skeletonRowCount > 0) {
+                wrapperAdapter.setSkeletonRows(builder.skeletonRowCount);
+            }
+            if (builder.batchAdapterUpdates) {
+                // Merge bursts of adapter events and recompute loading state once per batch
+                updateBatcher = new AdapterUpdateBatcher(wrapperAdapter, new Runnable() {
+                    @Override
+                    public void run() {
+                        onAdapterDataChanged();
+                    }
+                });
+            }
+            if (warmUpHoldersPerType > 0 || builder.preInflatedLoadingRows > 0) {
+                // Create holders for inserted pages and loading rows ahead of the first scroll into them
+                viewHolderWarmer = new ViewHolderWarmer(recyclerView, wrapperAdapter);
+            }
+            if (builder.preInflatedLoadingRows > 0) {
+                recyclerView.getRecycledViewPool().setMaxRecycledViews(WrapperAdapter.ITEM_VIEW_TYPE_LOADING,
+                        builder.preInflatedLoadingRows);
+                viewHolderWarmer.warmUp(WrapperAdapter.ITEM_VIEW_TYPE_LOADING, builder.preInflatedLoadingRows);
+            }
             adapter.registerAdapterDataObserver(mDataObserver);
             recyclerView.setAdapter(wrapperAdapter);
 
@@ -41,7 +125,7 @@ public final class RecyclerPaginate extends Paginate implements DynamicLoadingIt
             if (recyclerView.getLayoutManager() instanceof GridLayoutManager) {
                 wrapperSpanSizeLookup = new WrapperSpanSizeLookup(
                         ((GridLayoutManager) recyclerView.getLayoutManager()).getSpanSizeLookup(),
-                        loadingListItemSpanLookup,
+                        builder.loadingListItemSpanLookup,
                         wrapperAdapter);
                 ((GridLayoutManager) recyclerView.getLayoutManager()).setSpanSizeLookup(wrapperSpanSizeLookup);
             }
@@ -55,13 +139,39 @@ public final class RecyclerPaginate extends Paginate implements DynamicLoadingIt
     @Override
     public void setHasMoreDataToLoad(boolean hasMoreDataToLoad) {
         if (wrapperAdapter != null) {
+            flushAdapterUpdates();
             wrapperAdapter.displayLoadingRow(hasMoreDataToLoad);
         }
     }
 
+    @Override
+    public void notifyLoadFinished(boolean hasMoreDataToLoad) {
+        super.notifyLoadFinished(hasMoreDataToLoad);
+        requestEndOffsetCheck(); // Next page might be needed right away if list is already scrolled to the end
+    }
+
+    @Override
+    protected PushLoadState getPushLoadState() {
+        return pushLoadState;
+    }
+
     @Override
     public void unbind() {
         recyclerView.removeOnScrollListener(mOnScrollListener);   // Remove scroll listener
+        if (endOffsetCheckCoalescer != null) {
+            endOffsetCheckCoalescer.cancel();                     // Cancel pending end offset check
+        }
+        if (updateBatcher != null) {
+            updateBatcher.cancel();                               // Drop pending adapter updates
+        }
+        if (viewHolderWarmer != null) {
+            viewHolderWarmer.cancel();                            // Drop pending ViewHolder warm-up
+        }
+        cancelLoading(callbacks);                                 // Cancel in-flight page requests
+        if (idlePrefetchScheduled) {
+            Looper.myQueue().removeIdleHandler(mIdlePrefetchHandler); // Cancel pending idle prefetch
+            idlePrefetchScheduled = false;
+        }
         if (recyclerView.getAdapter() instanceof WrapperAdapter) {
             WrapperAdapter wrapperAdapter = (WrapperAdapter) recyclerView.getAdapter();
             RecyclerView.Adapter adapter = wrapperAdapter.getWrappedAdapter();
@@ -76,110 +186,377 @@ public final class RecyclerPaginate extends Paginate implements DynamicLoadingIt
     }
 
     void checkEndOffset() {
-        int visibleItemCount = recyclerView.getChildCount();
-        int totalItemCount = recyclerView.getLayoutManager().getItemCount();
+        checkEndOffset(0);
+    }
 
-        int visibleItemPosition;
+    private void requestEndOffsetCheck() {
+        if (endOffsetCheckCoalescer != null) {
+            endOffsetCheckCoalescer.schedule();
+        } else {
+            checkEndOffset();
+        }
+    }
 
-        if (recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+    /**
+     * @param predictedItemOffset number of items the list is expected to scroll (e.g. due to fling) beyond the last
+     *                            visible item.
+     */
+    private void checkEndOffset(int predictedItemOffset) {
+        if (placeholderCallbacks != null) {
+            checkVisiblePages(predictedItemOffset);
+            return;
+        }
+        if (loadingTriggerScreens > 0 || loadingTriggerDistance > 0) {
+            checkEndDistance(predictedItemOffset);
+            return;
+        }
 
-            visibleItemPosition = ((LinearLayoutManager) recyclerView.getLayoutManager()).findLastVisibleItemPosition();
+        int visibleItemCount = recyclerView.getChildCount();
+        int totalItemCount = recyclerView.getLayoutManager().getItemCount();
 
-            if (wrapperAdapter.getWrappedAdapter() instanceof MultiPaginateInterface) {
-                MultiPaginateInterface adapter = (MultiPaginateInterface) wrapperAdapter.getWrappedAdapter();
+        int visibleItemPosition = visibleRangeProvider.findLastVisibleItemPosition();
 
-                int listType = 0;
-                if (visibleItemCount != 0) {
-                    listType = adapter.getCurrentListIndex(visibleItemPosition);
-                    totalItemCount = adapter.getListSize(listType);
-                }
+        if (wrapperAdapter != null && wrapperAdapter.getWrappedAdapter() instanceof MultiPaginateInterface) {
+            MultiPaginateInterface adapter = (MultiPaginateInterface) wrapperAdapter.getWrappedAdapter();
 
-                if (visibleItemCount > 0) {
-                    visibleItemPosition = adapter.globalPositionToLocal(visibleItemPosition, listType);
-                    if (visibleItemPosition == -1) {
-                        return;
-                    }
-                }
+            int listType = 0;
+            if (visibleItemCount != 0) {
+                listType = adapter.getCurrentListIndex(visibleItemPosition);
+                totalItemCount = adapter.getListSize(listType);
             }
 
-        } else if (recyclerView.getLayoutManager() instanceof StaggeredGridLayoutManager) {
-            // https://code.google.com/p/android/issues/detail?id=181461
-            if (recyclerView.getLayoutManager().getChildCount() > 0) {
-                visibleItemPosition = ((StaggeredGridLayoutManager) recyclerView.getLayoutManager()).findFirstVisibleItemPositions(null)[0];
-            } else {
-                visibleItemPosition = 0;
+            if (visibleItemCount > 0) {
+                visibleItemPosition = adapter.globalPositionToLocal(visibleItemPosition, listType);
+                if (visibleItemPosition == -1) {
+                    return;
+                }
             }
-        } else {
-            throw new IllegalStateException("LayoutManager needs to subclass LinearLayoutManager or StaggeredGridLayoutManager");
         }
 
         // Check if end of the list is reached (counting threshold) or if there is no items at all
-        if ((totalItemCount - visibleItemCount) <= (visibleItemPosition + loadingTriggerThreshold)
+        if ((totalItemCount - visibleItemCount)
+                <= (visibleItemPosition + predictedItemOffset + getLoadingTriggerThreshold())
                 || totalItemCount == 0) {
-            // Call load more only if loading is not currently in progress and if there is more items to load
-            if (!callbacks.isLoading() && !callbacks.hasLoadedAllItems()) {
-                callbacks.onLoadMore();
+            loadMore();
+        }
+    }
+
+    /**
+     * Pixel distance variant of the end offset check, used when loading trigger is set as distance instead of number
+     * of items.
+     *
+     * @param predictedItemOffset number of items the list is expected to scroll (e.g. due to fling) beyond the last
+     *                            visible item.
+     */
+    private void checkEndDistance(int predictedItemOffset) {
+        int totalItemCount = recyclerView.getLayoutManager().getItemCount();
+
+        int remainingDistance;
+        int viewportExtent;
+        if (recyclerView.getLayoutManager().canScrollVertically()) {
+            remainingDistance = recyclerView.computeVerticalScrollRange()
+                    - recyclerView.computeVerticalScrollOffset()
+                    - recyclerView.computeVerticalScrollExtent();
+            viewportExtent = recyclerView.getHeight();
+        } else {
+            remainingDistance = recyclerView.computeHorizontalScrollRange()
+                    - recyclerView.computeHorizontalScrollOffset()
+                    - recyclerView.computeHorizontalScrollExtent();
+            viewportExtent = recyclerView.getWidth();
+        }
+
+        float triggerDistance = loadingTriggerScreens > 0
+                ? loadingTriggerScreens * viewportExtent
+                : loadingTriggerDistance;
+        float predictedDistance = predictedItemOffset * estimateItemExtent();
+
+        // Check if remaining scroll distance is within the trigger distance or if there is no items at all
+        if (remainingDistance <= predictedDistance + triggerDistance || totalItemCount == 0) {
+            loadMore();
+        }
+    }
+
+    private void loadMore() {
+        // Call load more only if loading is not currently in progress and if there is more items to load
+        if (!callbacks.isLoading() && !callbacks.hasLoadedAllItems()) {
+            if (loadLatencyTracker != null) {
+                loadLatencyTracker.onLoadStarted();
+            }
+            callbacks.onLoadMore();
+        }
+    }
+
+    /**
+     * Request every page that is not loaded within the visible range extended by the threshold (and predicted scroll
+     * offset) on both sides.
+     */
+    private void checkVisiblePages(int predictedItemOffset) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int totalItemCount = wrapperAdapter != null
+                ? wrapperAdapter.getWrappedAdapter().getItemCount()
+                : layoutManager.getItemCount();
+        if (totalItemCount == 0) {
+            return;
+        }
+
+        int firstVisiblePosition = visibleRangeProvider.findFirstVisibleItemPosition();
+        int lastVisiblePosition = visibleRangeProvider.findLastVisibleItemPosition();
+        if (firstVisiblePosition == RecyclerView.NO_POSITION) {
+            // Nothing laid out yet, start with the first page
+            firstVisiblePosition = 0;
+            lastVisiblePosition = 0;
+        }
+        if (wrapperAdapter != null) {
+            // Pages are indexed by positions in the wrapped adapter, dynamic loading rows are not counted
+            firstVisiblePosition = wrapperAdapter.getWrappedPosition(firstVisiblePosition);
+            lastVisiblePosition = wrapperAdapter.getWrappedPosition(lastVisiblePosition);
+        }
+
+        int threshold = getLoadingTriggerThreshold();
+        int firstPage = Math.max(0, firstVisiblePosition - threshold) / placeholderPageSize;
+        int lastPage = Math.min(totalItemCount - 1, lastVisiblePosition + predictedItemOffset + threshold)
+                / placeholderPageSize;
+        for (int page = firstPage; page <= lastPage; page++) {
+            if (!placeholderCallbacks.isPageLoaded(page) && !placeholderCallbacks.isPageLoading(page)) {
+                placeholderCallbacks.onLoadPage(page);
             }
         }
     }
 
+    private int getLoadingTriggerThreshold() {
+        if (scrollSpeedTracker == null) {
+            return loadingTriggerThreshold;
+        }
+
+        float itemExtent = estimateItemExtent();
+        if (itemExtent <= 0) {
+            return loadingTriggerThreshold;
+        }
+
+        float itemsPerMs = scrollSpeedTracker.getPixelsPerMs() / itemExtent;
+        int threshold = loadingTriggerThreshold;
+
+        if (adaptiveLoadingTriggerThreshold) {
+            // Number of items that will be scrolled through within the prefetch window at the current speed
+            int adaptiveThreshold = (int) Math.ceil(itemsPerMs * ADAPTIVE_PREFETCH_WINDOW_MS);
+            threshold = Math.max(threshold, Math.min(adaptiveThreshold, maxLoadingTriggerThreshold));
+        }
+
+        if (loadLatencyTracker != null) {
+            // Trigger load once time needed to reach the end of the list drops below observed load latency
+            int latencyThreshold = (int) Math.ceil(itemsPerMs * loadLatencyTracker.getLatencyMs());
+            threshold = Math.max(threshold, latencyThreshold);
+        }
+        return threshold;
+    }
+
+    /**
+     * Run end offset check as if the fling that has just started had already landed. Fling velocity is taken from the
+     * drag that started it, so that fling listener of the RecyclerView stays free for SnapHelper and others.
+     */
+    private void checkFlingDestination() {
+        int maxVelocity = recyclerView.getMaxFlingVelocity();
+        int velocity = (int) (flingVelocityTracker.getPixelsPerMs() * 1000);
+        velocity = Math.max(-maxVelocity, Math.min(velocity, maxVelocity));
+
+        // Use the same fling physics as RecyclerView in order to predict how far the list will scroll
+        flingScroller.fling(0, 0, 0, velocity, 0, 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int distance = flingScroller.getFinalY();
+        flingScroller.forceFinished(true);
+
+        // Positive scroll moves towards the end of the list, unless layout is reversed
+        int distanceToEnd = isLayoutReversed() ? -distance : distance;
+        float itemExtent = estimateItemExtent();
+        if (distanceToEnd > 0 && itemExtent > 0) {
+            checkEndOffset((int) (distanceToEnd / itemExtent));
+        }
+    }
+
+    /** @return true if items are laid out from the bottom (or right) of the RecyclerView. */
+    private boolean isLayoutReversed() {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        boolean reversed;
+        boolean horizontal;
+        if (layoutManager instanceof LinearLayoutManager) {
+            reversed = ((LinearLayoutManager) layoutManager).getReverseLayout();
+            horizontal = ((LinearLayoutManager) layoutManager).getOrientation() == LinearLayoutManager.HORIZONTAL;
+        } else if (layoutManager instanceof StaggeredGridLayoutManager) {
+            reversed = ((StaggeredGridLayoutManager) layoutManager).getReverseLayout();
+            horizontal = ((StaggeredGridLayoutManager) layoutManager).getOrientation()
+                    == StaggeredGridLayoutManager.HORIZONTAL;
+        } else {
+            return false;
+        }
+        // Horizontal layout is reversed once more in right-to-left layout direction
+        if (horizontal && layoutManager.getLayoutDirection() == ViewCompat.LAYOUT_DIRECTION_RTL) {
+            reversed = !reversed;
+        }
+        return reversed;
+    }
+
+    /** @return average size (in pixels) that single item takes along the scroll axis, or 0 if it can't be estimated. */
+    private float estimateItemExtent() {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int childCount = layoutManager.getChildCount();
+        if (childCount == 0) {
+            return 0;
+        }
+        int extent = layoutManager.canScrollVertically() ? recyclerView.getHeight() : recyclerView.getWidth();
+        return extent / (float) childCount;
+    }
+
+    /** Dispatch batched adapter updates, if any, so that wrapper adapter can safely notify its own changes. */
+    private void flushAdapterUpdates() {
+        if (updateBatcher != null) {
+            updateBatcher.flush();
+        }
+    }
+
     private void onAdapterDataChanged() {
-        wrapperAdapter.displayLoadingRow(!callbacks.hasLoadedAllItems());
-        checkEndOffset();
+        if (placeholderCallbacks == null) {
+            wrapperAdapter.displayLoadingRow(!callbacks.hasLoadedAllItems());
+        }
+        requestEndOffsetCheck();
+        if (recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+            scheduleIdlePrefetch(); // Next page might be within idle threshold as well
+        }
+    }
+
+    /** Check extended idle threshold once the main thread has nothing else to do. */
+    private void scheduleIdlePrefetch() {
+        if (idlePrefetchThreshold > 0 && !idlePrefetchScheduled) {
+            idlePrefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(mIdlePrefetchHandler);
+        }
     }
 
+    private final MessageQueue.IdleHandler mIdlePrefetchHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            idlePrefetchScheduled = false;
+            if (recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+                checkEndOffset(idlePrefetchThreshold);
+            }
+            return false; // One-shot, scheduled again on next idle scroll state or adapter change
+        }
+    };
+
     private final RecyclerView.OnScrollListener mOnScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            if (flingVelocityTracker != null) {
+                // Fling starts when the list settles right after it was dragged
+                boolean flingStarted = newState == RecyclerView.SCROLL_STATE_SETTLING
+                        && scrollState == RecyclerView.SCROLL_STATE_DRAGGING;
+                if (flingStarted) {
+                    checkFlingDestination();
+                }
+                if (newState != RecyclerView.SCROLL_STATE_DRAGGING) {
+                    flingVelocityTracker.reset();
+                }
+            }
+            scrollState = newState;
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                if (scrollSpeedTracker != null) {
+                    scrollSpeedTracker.reset();
+                }
+                scheduleIdlePrefetch();
+            }
+        }
+
         @Override
         public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
-            checkEndOffset(); // Each time when list is scrolled check if end of the list is reached
+            if (scrollSpeedTracker != null) {
+                scrollSpeedTracker.onScrolled(Math.abs(dx) + Math.abs(dy));
+            }
+            if (flingVelocityTracker != null && scrollState == RecyclerView.SCROLL_STATE_DRAGGING) {
+                flingVelocityTracker.onScrolled(recyclerView.getLayoutManager().canScrollVertically() ? dy : dx);
+            }
+            requestEndOffsetCheck(); // Each time when list is scrolled check if end of the list is reached
         }
     };
 
     private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
         @Override
         public void onChanged() {
+            if (loadLatencyTracker != null) {
+                loadLatencyTracker.onLoadFinished();
+            }
+            if (updateBatcher != null) {
+                updateBatcher.onChanged();
+                return;
+            }
             wrapperAdapter.notifyDataSetChanged();
             onAdapterDataChanged();
         }
 
         @Override
         public void onItemRangeInserted(int positionStart, int itemCount) {
-            wrapperAdapter.notifyItemRangeInserted(positionStart, itemCount);
+            if (loadLatencyTracker != null) {
+                loadLatencyTracker.onLoadFinished();
+            }
+            if (warmUpHoldersPerType > 0) {
+                viewHolderWarmer.onItemRangeInserted(positionStart, itemCount, warmUpHoldersPerType);
+            }
+            if (updateBatcher != null) {
+                updateBatcher.onItemRangeInserted(positionStart, itemCount);
+                return;
+            }
+            wrapperAdapter.notifyWrappedItemRangeInserted(positionStart, itemCount);
             onAdapterDataChanged();
         }
 
         @Override
         public void onItemRangeChanged(int positionStart, int itemCount) {
-            wrapperAdapter.notifyItemRangeChanged(positionStart, itemCount);
+            if (updateBatcher != null) {
+                updateBatcher.onItemRangeChanged(positionStart, itemCount, null);
+                return;
+            }
+            wrapperAdapter.notifyItemRangeChanged(wrapperAdapter.getWrapperPosition(positionStart), itemCount);
             onAdapterDataChanged();
         }
 
         @Override
         public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
-            wrapperAdapter.notifyItemRangeChanged(positionStart, itemCount, payload);
+            if (updateBatcher != null) {
+                updateBatcher.onItemRangeChanged(positionStart, itemCount, payload);
+                return;
+            }
+            wrapperAdapter.notifyItemRangeChanged(wrapperAdapter.getWrapperPosition(positionStart), itemCount, payload);
             onAdapterDataChanged();
         }
 
         @Override
         public void onItemRangeRemoved(int positionStart, int itemCount) {
-            wrapperAdapter.notifyItemRangeRemoved(positionStart, itemCount);
+            if (updateBatcher != null) {
+                updateBatcher.onItemRangeRemoved(positionStart, itemCount);
+                return;
+            }
+            wrapperAdapter.notifyItemRangeRemoved(wrapperAdapter.getWrapperPosition(positionStart), itemCount);
             onAdapterDataChanged();
         }
 
         @Override
         public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
-            wrapperAdapter.notifyItemMoved(fromPosition, toPosition);
+            if (updateBatcher != null) {
+                updateBatcher.onItemRangeMoved(fromPosition, toPosition);
+                return;
+            }
+            wrapperAdapter.notifyItemMoved(wrapperAdapter.getWrapperPosition(fromPosition),
+                    wrapperAdapter.getWrapperPosition(toPosition));
             onAdapterDataChanged();
         }
     };
 
     @Override
     public void onAddLoadingItem(int position) {
+        flushAdapterUpdates();
         wrapperAdapter.addLoadingItem(position);
     }
 
     @Override
     public void onRemoveLoadingItem(int position) {
+        flushAdapterUpdates();
         wrapperAdapter.removeLoadingItem(position);
     }
 
@@ -189,6 +566,22 @@ public final class RecyclerPaginate extends Paginate implements DynamicLoadingIt
         private final Paginate.Callbacks callbacks;
 
         private int loadingTriggerThreshold = 5;
+        private int maxLoadingTriggerThreshold = 5;
+        private boolean adaptiveLoadingTriggerThreshold = false;
+        private float loadingTriggerScreens = 0;
+        private float loadingTriggerDistanceDp = 0;
+        private int idlePrefetchThreshold = 0;
+        private float loadLatencyPercentile = 0;
+        private boolean flingPrediction = false;
+        private boolean coalesceChecksPerFrame = false;
+        private boolean pushLoadState = false;
+        private boolean batchAdapterUpdates = false;
+        private int placeholderPageSize;
+        private PlaceholderCallbacks placeholderCallbacks;
+        private VisibleRangeProvider visibleRangeProvider;
+        private int warmUpHoldersPerType = 0;
+        private int preInflatedLoadingRows = 0;
+        private int skeletonRowCount = 0;
         private boolean addLoadingListItem = true;
         private LoadingListItemCreator loadingListItemCreator;
         private LoadingListItemSpanLookup loadingListItemSpanLookup;
@@ -207,6 +600,237 @@ public final class RecyclerPaginate extends Paginate implements DynamicLoadingIt
          */
         public Builder setLoadingTriggerThreshold(int threshold) {
             this.loadingTriggerThreshold = threshold;
+            this.maxLoadingTriggerThreshold = threshold;
+            this.adaptiveLoadingTriggerThreshold = false;
+            return this;
+        }
+
+        /**
+         * Trigger the load more event once remaining scroll distance to the end of the list drops below the given
+         * number of viewport heights (widths for horizontal lists). Use this instead of item threshold when items have
+         * very different sizes. Remaining distance is computed by the LayoutManager, see {@link
+         * RecyclerView#computeVerticalScrollRange()}. Disabled by default.
+         *
+         * @param screens distance from the end of the list in viewport sizes (e.g. 1.5), or 0 to use item threshold.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setLoadingTriggerDistanceInScreens(float screens) {
+            if (screens < 0) {
+                throw new IllegalArgumentException("screens can't be negative");
+            }
+            this.loadingTriggerScreens = screens;
+            this.loadingTriggerDistanceDp = 0;
+            return this;
+        }
+
+        /**
+         * Trigger the load more event once remaining scroll distance to the end of the list drops below the given
+         * distance. Use this instead of item threshold when items have very different sizes. Disabled by default.
+         *
+         * @param dp distance from the end of the list in density-independent pixels, or 0 to use item threshold.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         * @see {@link com.paginate.recycler.RecyclerPaginate.Builder#setLoadingTriggerDistanceInScreens(float)}
+         */
+        public Builder setLoadingTriggerDistanceInDp(float dp) {
+            if (dp < 0) {
+                throw new IllegalArgumentException("dp can't be negative");
+            }
+            this.loadingTriggerDistanceDp = dp;
+            this.loadingTriggerScreens = 0;
+            return this;
+        }
+
+        /**
+         * Use adaptive offset from the end of the list at which the load more event needs to be triggered. Offset is
+         * scaled by the current scroll speed so that next page is requested early enough when list is flung and not
+         * too early when list is scrolled slowly.
+         *
+         * @param minThreshold number of items from the end of the list used while list is scrolled slowly or idle.
+         * @param maxThreshold upper bound of number of items from the end of the list used on fast scroll.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setAdaptiveLoadingTriggerThreshold(int minThreshold, int maxThreshold) {
+            if (minThreshold > maxThreshold) {
+                throw new IllegalArgumentException("minThreshold can't be greater than maxThreshold");
+            }
+            this.loadingTriggerThreshold = minThreshold;
+            this.maxLoadingTriggerThreshold = maxThreshold;
+            this.adaptiveLoadingTriggerThreshold = true;
+            return this;
+        }
+
+        /**
+         * Speculatively request the next page while the user is not scrolling. Once the list becomes idle and the main
+         * thread has no pending messages, the load more event is triggered if the end of the list is within the
+         * regular threshold extended by the given number of items. Disabled by default.
+         *
+         * @param idleThreshold number of items added to the loading threshold while list is idle, or 0 to disable.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setIdlePrefetchThreshold(int idleThreshold) {
+            if (idleThreshold < 0) {
+                throw new IllegalArgumentException("idleThreshold can't be negative");
+            }
+            this.idlePrefetchThreshold = idleThreshold;
+            return this;
+        }
+
+        /**
+         * Measure how long each page takes to load (from {@link Callbacks#onLoadMore()} until new items are inserted
+         * in the adapter) and trigger the load more event once the estimated time needed to scroll to the end of the
+         * list drops below the given percentile of measured load times. The item threshold is still used as the
+         * lower bound. Disabled by default.
+         *
+         * @param percentile percentile of recent load times to use (e.g. 0.9), or 0 to disable.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setLatencyAwareLoadingTrigger(float percentile) {
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("percentile needs to be in range [0, 1]");
+            }
+            this.loadLatencyPercentile = percentile;
+            return this;
+        }
+
+        /**
+         * Predict where the fling will land (using velocity of the drag that started it) and trigger the load more
+         * event as soon as the fling starts if predicted position is within the threshold. Reversed layouts are
+         * supported. Fling listener of the RecyclerView is not used, so {@link android.support.v7.widget.SnapHelper}
+         * can be attached before or after Paginate is built. Disabled by default.
+         *
+         * @param flingPrediction true if fling destination needs to be checked, false otherwise.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setFlingPrediction(boolean flingPrediction) {
+            this.flingPrediction = flingPrediction;
+            return this;
+        }
+
+        /**
+         * Collapse end offset checks triggered by scroll events and adapter data changes into at most one check per
+         * display frame. Useful for high refresh rate displays and bulk adapter updates. Disabled by default.
+         *
+         * @param coalesceChecksPerFrame true if checks need to be coalesced, false otherwise.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setCoalesceChecksPerFrame(boolean coalesceChecksPerFrame) {
+            this.coalesceChecksPerFrame = coalesceChecksPerFrame;
+            return this;
+        }
+
+        /**
+         * Keep loading state inside of the Paginate instead of polling {@link Callbacks#isLoading()} and {@link
+         * Callbacks#hasLoadedAllItems()} on each scroll event and adapter change. When enabled, loading state needs to
+         * be pushed using {@link Paginate#notifyLoadStarted()} and {@link Paginate#notifyLoadFinished(boolean)}.
+         * Disabled by default.
+         *
+         * @param pushLoadState true if loading state will be pushed, false if it should be polled from callbacks.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setPushLoadState(boolean pushLoadState) {
+            this.pushLoadState = pushLoadState;
+            return this;
+        }
+
+        /**
+         * Merge bursts of overlapping or adjacent item range changes of the original adapter into single
+         * notification and recompute loading row state only once per batch. Inserts, removals and moves are always
+         * forwarded right away. Batch is dispatched before the main thread handles its next message. Used only when
+         * loading row is added. Disabled by default.
+         *
+         * @param batchAdapterUpdates true if adapter updates need to be batched, false otherwise.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setBatchAdapterUpdates(boolean batchAdapterUpdates) {
+            this.batchAdapterUpdates = batchAdapterUpdates;
+            return this;
+        }
+
+        /**
+         * Use placeholder mode for lists with known total number of items. Wrapped adapter needs to report the total
+         * number of items up front, items of pages that are not loaded yet are displayed as loading rows and pages are
+         * requested through {@link PlaceholderCallbacks} for whatever range becomes visible (e.g. after fast scroller
+         * jump), not only at the end of the list. {@link Callbacks} are not used for loading in this mode. Disabled by
+         * default.
+         *
+         * @param pageSize             number of items in each page.
+         * @param placeholderCallbacks callbacks used to load pages.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setPlaceholders(int pageSize, PlaceholderCallbacks placeholderCallbacks) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize needs to be positive");
+            }
+            this.placeholderPageSize = pageSize;
+            this.placeholderCallbacks = placeholderCallbacks;
+            return this;
+        }
+
+        /**
+         * Set custom provider of the visible item range. Use this when LayoutManager is neither {@link
+         * LinearLayoutManager} nor {@link StaggeredGridLayoutManager}. Provider for stock LayoutManagers is resolved
+         * when Paginate is built, so Paginate needs to be rebuilt if LayoutManager is replaced.
+         *
+         * @param visibleRangeProvider provider that will be called on each scroll event.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setVisibleRangeProvider(VisibleRangeProvider visibleRangeProvider) {
+            this.visibleRangeProvider = visibleRangeProvider;
+            return this;
+        }
+
+        /**
+         * Create ViewHolders for items of each inserted page while the main thread is idle and put them into the
+         * RecycledViewPool, so that first scroll into the new page doesn't inflate views. Holders are created by the
+         * original adapter for view types of the inserted items. Used only when loading row is added. Disabled by
+         * default.
+         *
+         * @param holdersPerType maximum number of holders created per view type for each inserted page, needs to be
+         *                       within max recycled views of the pool (5 by default), or 0 to disable.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         * @see {@link RecyclerView.RecycledViewPool#setMaxRecycledViews(int, int)}
+         */
+        public Builder setViewHolderWarmUp(int holdersPerType) {
+            if (holdersPerType < 0) {
+                throw new IllegalArgumentException("holdersPerType can't be negative");
+            }
+            this.warmUpHoldersPerType = holdersPerType;
+            return this;
+        }
+
+        /**
+         * Create loading row ViewHolders while the main thread is idle, right after Paginate is built, so that loading
+         * rows with expensive layouts (e.g. shimmer skeletons) are not inflated while the list is scrolled. Max
+         * recycled views of {@link RecyclerView.RecycledViewPool} for loading rows is set to the same count, so
+         * created holders are kept. Use the number of loading rows that can be on the screen at once (1 unless
+         * placeholders or dynamic loading rows are used). Used only when loading row is added. Disabled by default.
+         *
+         * @param count number of loading row holders to create, or 0 to disable.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setPreInflatedLoadingRows(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("count can't be negative");
+            }
+            this.preInflatedLoadingRows = count;
+            return this;
+        }
+
+        /**
+         * Display a block of skeleton rows (created by {@link LoadingListItemCreator}) sized to the expected page
+         * instead of single loading row. When the next page is appended to the original adapter, skeleton rows are
+         * replaced by items in place (rebind instead of insert), so content below the viewport doesn't jump. Use
+         * custom {@link LoadingListItemSpanLookup} with {@link GridLayoutManager} since loading rows take full span by
+         * default. Not used in placeholder mode. Disabled by default.
+         *
+         * @param rowCount number of skeleton rows, usually page size, or 0 to display single loading row.
+         * @return {@link com.paginate.recycler.RecyclerPaginate.Builder}
+         */
+        public Builder setSkeletonRows(int rowCount) {
+            if (rowCount < 0) {
+                throw new IllegalArgumentException("rowCount can't be negative");
+            }
+            this.skeletonRowCount = rowCount;
             return this;
         }
 
@@ -270,8 +894,11 @@ public final class RecyclerPaginate extends Paginate implements DynamicLoadingIt
                 loadingListItemSpanLookup = new DefaultLoadingListItemSpanLookup(recyclerView.getLayoutManager());
             }
 
-            return new RecyclerPaginate(recyclerView, callbacks, loadingTriggerThreshold, addLoadingListItem,
-                    loadingListItemCreator, loadingListItemSpanLookup);
+            if (visibleRangeProvider == null) {
+                visibleRangeProvider = VisibleRangeProviders.forLayoutManager(recyclerView.getLayoutManager());
+            }
+
+            return new RecyclerPaginate(this);
         }
     }
 
@@ -0,0 +1,40 @@
+package com.paginate.recycler;
+
+import android.os.SystemClock;
+
+/**
+ * Keeps smoothed scroll speed (pixels per millisecond) calculated from consecutive scroll deltas. Speed has the sign of
+ * the deltas, so signed deltas along the scroll axis give velocity in the scroll direction.
+ */
+class ScrollSpeedTracker {
+
+	// Weight of the newest sample in the exponential moving average
+	private static final float SMOOTHING_FACTOR = 0.3f;
+	// Scroll events further apart than this are treated as the start of a new scroll
+	private static final long MAX_SAMPLE_INTERVAL_MS = 100;
+
+	private long lastEventTime;
+	private float pixelsPerMs;
+
+	void onScrolled(int delta) {
+		long now = SystemClock.uptimeMillis();
+		long interval = now - lastEventTime;
+		lastEventTime = now;
+
+		if (interval > MAX_SAMPLE_INTERVAL_MS) {
+			pixelsPerMs = 0;
+		} else if (interval > 0) {
+			float speed = delta / (float) interval;
+			pixelsPerMs += SMOOTHING_FACTOR * (speed - pixelsPerMs);
+		}
+	}
+
+	void reset() {
+		lastEventTime = 0;
+		pixelsPerMs = 0;
+	}
+
+	float getPixelsPerMs() {
+		return pixelsPerMs;
+	}
+}
@@ -0,0 +1,145 @@
+package com.paginate.recycler;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+
+import java.util.ArrayList;
+
+/**
+ * Creates ViewHolders while the main thread is idle and puts them into the RecycledViewPool, so that first scroll into
+ * a fresh page (or first loading row) binds pooled holders instead of inflating new ones. Holders are created within a
+ * short time budget per idle callback, so that pending input is handled in between. Message queue calls idle handler
+ * again only after it has handled another message, so empty message is posted when holders are left for later.
+ */
+class ViewHolderWarmer implements MessageQueue.IdleHandler {
+
+	private static final long IDLE_BUDGET_MS = 4;
+
+	private final RecyclerView recyclerView;
+	private final WrapperAdapter wrapperAdapter;
+	// View type -> number of holders that need to be in the pool
+	private final SparseIntArray pendingHolders = new SparseIntArray();
+	private final ArrayList<RecyclerView.ViewHolder> pooledHolders = new ArrayList<>();
+	private final Handler handler = new Handler(Looper.getMainLooper());
+	private final Runnable resumeRunnable = new Runnable() {
+		@Override
+		public void run() {
+			// Nothing to do, the queue goes idle again once this message is handled
+		}
+	};
+	private boolean scheduled;
+
+	/**
+	 * @param recyclerView   RecyclerView whose pool will receive the holders.
+	 * @param wrapperAdapter adapter set on the RecyclerView, used to create holders.
+	 */
+	ViewHolderWarmer(RecyclerView recyclerView, WrapperAdapter wrapperAdapter) {
+		this.recyclerView = recyclerView;
+		this.wrapperAdapter = wrapperAdapter;
+	}
+
+	/**
+	 * Schedule holder creation for view type distribution of the inserted range. Holders already in the pool count
+	 * towards the maximum, so view types that are pooled are skipped. Creation of a view type stops once the pool
+	 * reaches its max recycled views (5 by default).
+	 *
+	 * @param positionStart     position of the first inserted item in the original adapter.
+	 * @param itemCount         number of inserted items.
+	 * @param maxHoldersPerType maximum number of holders created per view type.
+	 */
+	void onItemRangeInserted(int positionStart, int itemCount, int maxHoldersPerType) {
+		RecyclerView.Adapter adapter = wrapperAdapter.getWrappedAdapter();
+		int end = Math.min(positionStart + itemCount, adapter.getItemCount());
+		SparseIntArray rangeHolders = new SparseIntArray();
+		for (int position = positionStart; position < end; position++) {
+			int viewType = adapter.getItemViewType(position);
+			int count = rangeHolders.get(viewType);
+			if (count < maxHoldersPerType) {
+				rangeHolders.put(viewType, count + 1);
+			}
+		}
+		for (int i = 0; i < rangeHolders.size(); i++) {
+			int viewType = rangeHolders.keyAt(i);
+			int count = rangeHolders.valueAt(i);
+			if (count > pendingHolders.get(viewType) && count > getPooledCount(viewType)) {
+				pendingHolders.put(viewType, count);
+			}
+		}
+		schedule();
+	}
+
+	/**
+	 * Schedule creation of holders of a single view type, so that the pool holds the given number of them.
+	 *
+	 * @param viewType view type of the holders.
+	 * @param count    number of holders that need to be in the pool.
+	 */
+	void warmUp(int viewType, int count) {
+		pendingHolders.put(viewType, Math.max(pendingHolders.get(viewType), count));
+		schedule();
+	}
+
+	/** Drop pending holders, used when Paginate is unbound. */
+	void cancel() {
+		if (scheduled) {
+			Looper.myQueue().removeIdleHandler(this);
+			handler.removeCallbacks(resumeRunnable);
+			scheduled = false;
+		}
+		pendingHolders.clear();
+	}
+
+	private void schedule() {
+		if (pendingHolders.size() > 0 && !scheduled) {
+			scheduled = true;
+			Looper.myQueue().addIdleHandler(this);
+		}
+	}
+
+	@Override
+	public boolean queueIdle() {
+		RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+		long deadline = SystemClock.uptimeMillis() + IDLE_BUDGET_MS;
+		while (pendingHolders.size() > 0 && SystemClock.uptimeMillis() < deadline) {
+			int viewType = pendingHolders.keyAt(0);
+			// Pool is counted every time, holders could have been taken from it or added to it in the meantime
+			int pooledCount = getPooledCount(viewType);
+			if (pooledCount < pendingHolders.valueAt(0)) {
+				pool.putRecycledView(wrapperAdapter.createViewHolder(recyclerView, viewType));
+				if (getPooledCount(viewType) > pooledCount) {
+					continue;
+				}
+				// Holder was dropped, pool is full for this view type
+			}
+			pendingHolders.delete(viewType);
+		}
+
+		scheduled = pendingHolders.size() > 0;
+		if (scheduled) {
+			handler.post(resumeRunnable); // Out of budget, continue once the queue is idle again
+		}
+		return scheduled; // Stay registered until all pending holders are created
+	}
+
+	/**
+	 * Count holders of the given view type in the pool. Pool of this RecyclerView version doesn't report its size, so
+	 * holders are taken out and put back.
+	 */
+	private int getPooledCount(int viewType) {
+		RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+		RecyclerView.ViewHolder holder;
+		while ((holder = pool.getRecycledView(viewType)) != null) {
+			pooledHolders.add(holder);
+		}
+		int count = pooledHolders.size();
+		for (int i = 0; i < count; i++) {
+			pool.putRecycledView(pooledHolders.get(i));
+		}
+		pooledHolders.clear();
+		return count;
+	}
+}
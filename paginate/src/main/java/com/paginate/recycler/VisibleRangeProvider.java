@@ -0,0 +1,19 @@
+package com.paginate.recycler;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Provides the range of visible adapter positions for the LayoutManager set on the RecyclerView. Provider is resolved
+ * once when the Paginate is built and queried on each scroll event, so implementations should not allocate. Implement
+ * this interface in order to use Paginate with custom LayoutManager.
+ *
+ * @see VisibleRangeProviders#forLayoutManager(RecyclerView.LayoutManager)
+ */
+public interface VisibleRangeProvider {
+
+	/** @return adapter position of the first visible item, or {@link RecyclerView#NO_POSITION} if nothing is laid out. */
+	int findFirstVisibleItemPosition();
+
+	/** @return adapter position of the last visible item, or {@link RecyclerView#NO_POSITION} if nothing is laid out. */
+	int findLastVisibleItemPosition();
+}
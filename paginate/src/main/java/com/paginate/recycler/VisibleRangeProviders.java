@@ -0,0 +1,99 @@
+package com.paginate.recycler;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
+
+/** Built-in {@link VisibleRangeProvider} implementations for stock LayoutManagers. */
+public final class VisibleRangeProviders {
+
+	private VisibleRangeProviders() {
+	}
+
+	/**
+	 * @param layoutManager LayoutManager set on the RecyclerView.
+	 * @return provider for {@link LinearLayoutManager} (including {@link android.support.v7.widget.GridLayoutManager})
+	 * or {@link StaggeredGridLayoutManager}.
+	 * @throws IllegalStateException if there is no built-in provider for the given LayoutManager.
+	 */
+	public static VisibleRangeProvider forLayoutManager(RecyclerView.LayoutManager layoutManager) {
+		if (layoutManager instanceof LinearLayoutManager) {
+			return new LinearVisibleRangeProvider((LinearLayoutManager) layoutManager);
+		} else if (layoutManager instanceof StaggeredGridLayoutManager) {
+			return new StaggeredGridVisibleRangeProvider((StaggeredGridLayoutManager) layoutManager);
+		}
+		throw new IllegalStateException("LayoutManager needs to subclass LinearLayoutManager or "
+				+ "StaggeredGridLayoutManager, or VisibleRangeProvider needs to be set");
+	}
+
+	private static class LinearVisibleRangeProvider implements VisibleRangeProvider {
+
+		private final LinearLayoutManager layoutManager;
+
+		LinearVisibleRangeProvider(LinearLayoutManager layoutManager) {
+			this.layoutManager = layoutManager;
+		}
+
+		@Override
+		public int findFirstVisibleItemPosition() {
+			return layoutManager.findFirstVisibleItemPosition();
+		}
+
+		@Override
+		public int findLastVisibleItemPosition() {
+			return layoutManager.findLastVisibleItemPosition();
+		}
+	}
+
+	/**
+	 * Reuses span position arrays between calls and reports the range across all spans, since columns of staggered grid
+	 * can be scrolled to different positions.
+	 */
+	private static class StaggeredGridVisibleRangeProvider implements VisibleRangeProvider {
+
+		private final StaggeredGridLayoutManager layoutManager;
+		private int[] spanPositions;
+
+		StaggeredGridVisibleRangeProvider(StaggeredGridLayoutManager layoutManager) {
+			this.layoutManager = layoutManager;
+		}
+
+		@Override
+		public int findFirstVisibleItemPosition() {
+			// https://code.google.com/p/android/issues/detail?id=181461
+			if (layoutManager.getChildCount() == 0) {
+				return RecyclerView.NO_POSITION;
+			}
+			int[] positions = layoutManager.findFirstVisibleItemPositions(getSpanPositions());
+			int first = RecyclerView.NO_POSITION;
+			for (int position : positions) {
+				if (position != RecyclerView.NO_POSITION && (first == RecyclerView.NO_POSITION || position < first)) {
+					first = position;
+				}
+			}
+			return first;
+		}
+
+		@Override
+		public int findLastVisibleItemPosition() {
+			if (layoutManager.getChildCount() == 0) {
+				return RecyclerView.NO_POSITION;
+			}
+			int[] positions = layoutManager.findLastVisibleItemPositions(getSpanPositions());
+			int last = RecyclerView.NO_POSITION;
+			for (int position : positions) {
+				last = Math.max(last, position);
+			}
+			return last;
+		}
+
+		private int[] getSpanPositions() {
+			// Span count can be changed at any time (e.g. on rotation)
+			int spanCount = layoutManager.getSpanCount();
+			if (spanPositions == null || spanPositions.length != spanCount) {
+				spanPositions = new int[spanCount];
+			}
+			return spanPositions;
+		}
+	}
+}
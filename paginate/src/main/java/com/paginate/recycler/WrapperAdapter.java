@@ -3,18 +3,20 @@ package com.paginate.recycler;
 import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
-import java.util.Set;
-import java.util.TreeSet;
-
 class WrapperAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
-    private static final int ITEM_VIEW_TYPE_LOADING = Integer.MAX_VALUE - 50; // Magic
+    static final int ITEM_VIEW_TYPE_LOADING = Integer.MAX_VALUE - 50; // Magic
 
     private final RecyclerView.Adapter wrappedAdapter;
     private final LoadingListItemCreator loadingListItemCreator;
     private boolean displayLoadingRow = true;
+    private int skeletonRowCount;
+    // Serial number of the first row of the loading block at the end, rows that become items are never reused
+    private int endRowSerial;
+    private int placeholderPageSize;
+    private PlaceholderCallbacks placeholderCallbacks;
 
-    private Set<Integer> loadingItemPositions = new TreeSet<>();
+    private final LoadingPositions loadingItemPositions = new LoadingPositions();
 
     public WrapperAdapter(RecyclerView.Adapter adapter, LoadingListItemCreator creator) {
         this.wrappedAdapter = adapter;
@@ -35,14 +37,7 @@ class WrapperAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         if (isLoadingRow(position)) {
             loadingListItemCreator.onBindViewHolder(holder, position);
         } else {
-            int proxyPosition = position;
-
-            for (Integer pos : loadingItemPositions) {
-                if (pos <= proxyPosition) {
-                    ++proxyPosition;
-                }
-            }
-            wrappedAdapter.onBindViewHolder(holder, proxyPosition);
+            wrappedAdapter.onBindViewHolder(holder, getWrappedPosition(position));
         }
     }
 
@@ -51,7 +46,7 @@ class WrapperAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         int count = wrappedAdapter.getItemCount() + loadingItemPositions.size();
 
         if (displayLoadingRow) {
-            ++count;
+            count += getLoadingRowCount();
         }
         return count;
     }
@@ -60,14 +55,24 @@ class WrapperAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     public int getItemViewType(int position) {
         return isLoadingRow(position)
                 ? ITEM_VIEW_TYPE_LOADING
-                : wrappedAdapter.getItemViewType(position);
+                : wrappedAdapter.getItemViewType(getWrappedPosition(position));
     }
 
     @Override
     public long getItemId(int position) {
         return isLoadingRow(position)
-                ? RecyclerView.NO_ID
-                : wrappedAdapter.getItemId(position);
+                ? getLoadingRowId(position)
+                : wrappedAdapter.getItemId(getWrappedPosition(position));
+    }
+
+    private long getLoadingRowId(int position) {
+        if (isDynamicLoadingRow(position)) {
+            return LoadingRowIds.dynamic(loadingItemPositions.serialOf(position));
+        } else if (displayLoadingRow && position >= getLoadingRowPosition()) {
+            return LoadingRowIds.end(endRowSerial + position - getLoadingRowPosition());
+        } else {
+            return LoadingRowIds.placeholder(getWrappedPosition(position));
+        }
     }
 
 
@@ -81,24 +86,74 @@ class WrapperAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         return wrappedAdapter;
     }
 
+    /** Map position of the item in this adapter to position of the same item in the wrapped adapter. */
+    int getWrappedPosition(int position) {
+        return loadingItemPositions.toWrappedPosition(position);
+    }
+
+    /** Map position of the item in the wrapped adapter to position of the same item in this adapter. */
+    int getWrapperPosition(int wrappedPosition) {
+        return loadingItemPositions.toWrapperPosition(wrappedPosition);
+    }
+
+    /**
+     * Notify about items inserted in the wrapped adapter. In skeleton mode, items appended at the end of the list take
+     * place of skeleton rows, which are changed in place, and skeleton block moves after the new items.
+     *
+     * @param wrappedPositionStart position of the first inserted item in the wrapped adapter.
+     * @param itemCount            number of inserted items.
+     */
+    void notifyWrappedItemRangeInserted(int wrappedPositionStart, int itemCount) {
+        int positionStart = getWrapperPosition(wrappedPositionStart);
+        if (skeletonRowCount == 0 || !displayLoadingRow
+                || wrappedPositionStart + itemCount != wrappedAdapter.getItemCount()) {
+            notifyItemRangeInserted(positionStart, itemCount);
+            return;
+        }
+
+        // Skeleton rows at the start of the block become items, then rows are added at the end of the list. Those are
+        // the rest of the items (if there are more items than skeleton rows) followed by skeleton rows. Remaining old
+        // rows move to the start of the block, so serials shift by number of inserted items and new rows get new ones.
+        endRowSerial += itemCount;
+        notifyItemRangeChanged(positionStart, Math.min(itemCount, skeletonRowCount));
+        notifyItemRangeInserted(positionStart + skeletonRowCount, itemCount);
+    }
+
     void addLoadingItem(int position) {
-        if (isDynamicLoadingRow(position)) {
+        if (!loadingItemPositions.add(position)) {
             return;
         }
 
-        loadingItemPositions.add(position);
         notifyItemInserted(position);
     }
 
     void removeLoadingItem(int position) {
-        if (!isDynamicLoadingRow(position)) {
+        if (!loadingItemPositions.remove(position)) {
             return;
         }
 
-        loadingItemPositions.remove(position);
         notifyItemRemoved(position);
     }
 
+    /**
+     * Display items of pages that are not loaded as loading rows. Loading row at the end of the list is not used in
+     * placeholder mode.
+     */
+    void setPlaceholders(int pageSize, PlaceholderCallbacks callbacks) {
+        this.placeholderPageSize = pageSize;
+        this.placeholderCallbacks = callbacks;
+        this.displayLoadingRow = false;
+    }
+
+    /**
+     * Display block of skeleton rows instead of single loading row, replaced in place by items of the next page.
+     *
+     * @param rowCount number of skeleton rows, expected page size.
+     */
+    void setSkeletonRows(int rowCount) {
+        this.skeletonRowCount = rowCount;
+    }
+
     boolean isDisplayLoadingRow() {
         return displayLoadingRow;
     }
@@ -106,17 +161,38 @@ class WrapperAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     void displayLoadingRow(boolean displayLoadingRow) {
         if (this.displayLoadingRow != displayLoadingRow) {
             this.displayLoadingRow = displayLoadingRow;
-            notifyDataSetChanged();
+            if (displayLoadingRow) {
+                notifyItemRangeInserted(getLoadingRowPosition(), getLoadingRowCount());
+            } else {
+                endRowSerial += getLoadingRowCount(); // Rows inserted later are new rows
+                notifyItemRangeRemoved(getItemCount(), getLoadingRowCount());
+            }
         }
     }
 
     boolean isLoadingRow(int position) {
-        return (displayLoadingRow && position == getLoadingRowPosition())
-                || isDynamicLoadingRow(position);
+        return (displayLoadingRow && position >= getLoadingRowPosition())
+                || isDynamicLoadingRow(position)
+                || isPlaceholder(position);
+    }
+
+    /**
+     * @return true if the row is item of a page that is not loaded yet in placeholder mode. Placeholders are loading
+     * rows, but they take span of the item they stand for.
+     */
+    boolean isPlaceholder(int position) {
+        return placeholderCallbacks != null
+                && !isDynamicLoadingRow(position)
+                && !placeholderCallbacks.isPageLoaded(getWrappedPosition(position) / placeholderPageSize);
     }
 
+    /** @return position of the first loading row at the end of the list, or -1 if loading row is not displayed. */
     private int getLoadingRowPosition() {
-        return displayLoadingRow ? getItemCount() - 1 : -1;
+        return displayLoadingRow ? getItemCount() - getLoadingRowCount() : -1;
+    }
+
+    private int getLoadingRowCount() {
+        return skeletonRowCount > 0 ? skeletonRowCount : 1;
     }
 
     private boolean isDynamicLoadingRow(int position) {
@@ -18,10 +18,10 @@ public class WrapperSpanSizeLookup extends GridLayoutManager.SpanSizeLookup {
 
 	@Override
 	public int getSpanSize(int position) {
-		if (wrapperAdapter.isLoadingRow(position)) {
+		if (wrapperAdapter.isLoadingRow(position) && !wrapperAdapter.isPlaceholder(position)) {
 			return loadingListItemSpanLookup.getSpanSize();
 		} else {
-			return wrappedSpanSizeLookup.getSpanSize(position);
+			return wrappedSpanSizeLookup.getSpanSize(wrapperAdapter.getWrappedPosition(position));
 		}
 	}
 
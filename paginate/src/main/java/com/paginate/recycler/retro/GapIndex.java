@@ -0,0 +1,208 @@
+package com.paginate.recycler.retro;
+
+/**
+ * Ordered index of gap loading rows of {@link RetroAdapter}. Each gap is stored as position of the item (in the
+ * original adapter) that follows the gap, so gaps are kept sorted and positions are mapped between the original and
+ * wrapper adapter in O(log g) without boxing, where g is number of gaps. Gap at position equal to item count is placed
+ * after the last item.
+ * <p/>
+ * Since each gap takes one row, wrapper position (not counting start loading row) of gap at index j is position + j,
+ * which is strictly increasing, so both directions are resolved by binary search.
+ */
+class GapIndex {
+
+	/** Gap that loads items towards the end of the list, items inserted at its position are placed before it. */
+	static final int KIND_GAP = 0;
+	/** Legacy internal row that loads items towards the end of the list. */
+	static final int KIND_INTERNAL_END = 1;
+	/** Legacy internal row that loads items towards the start of the list, items inserted at its position follow it. */
+	static final int KIND_INTERNAL_START = 2;
+
+	private int[] positions = new int[4];
+	private int[] kinds = new int[4];
+	private int[] ids = new int[4];
+	private int size;
+	private int nextId;
+
+	int size() {
+		return size;
+	}
+
+	/** @return position of the item that follows the gap at the given index. */
+	int positionAt(int index) {
+		return positions[index];
+	}
+
+	int kindAt(int index) {
+		return kinds[index];
+	}
+
+	/** @return serial number of the gap at the given index, kept while the gap moves. */
+	int idAt(int index) {
+		return ids[index];
+	}
+
+	/** @return wrapper position (not counting start loading row) of the gap at the given index. */
+	int wrapperPositionAt(int index) {
+		return positions[index] + index;
+	}
+
+	/**
+	 * @param position position of the item that follows the gap.
+	 * @param kind     kind of the gap.
+	 * @return index of the gap, or -1 if there is no such gap.
+	 */
+	int indexOf(int position, int kind) {
+		for (int index = lowerBound(position); index < size && positions[index] == position; index++) {
+			if (kinds[index] == kind) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Add gap before the item at the given position.
+	 *
+	 * @return index of the added gap.
+	 */
+	int add(int position, int kind) {
+		// Gaps that follow items inserted at their position are kept first, so shifting on insert keeps the order
+		int index = kind == KIND_INTERNAL_START ? lowerBound(position) : upperBound(position);
+		if (size == positions.length) {
+			positions = grow(positions, size);
+			kinds = grow(kinds, size);
+			ids = grow(ids, size);
+		}
+		System.arraycopy(positions, index, positions, index + 1, size - index);
+		System.arraycopy(kinds, index, kinds, index + 1, size - index);
+		System.arraycopy(ids, index, ids, index + 1, size - index);
+		positions[index] = position;
+		kinds[index] = kind;
+		ids[index] = nextId++;
+		size++;
+		return index;
+	}
+
+	void removeAt(int index) {
+		System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+		System.arraycopy(kinds, index + 1, kinds, index, size - index - 1);
+		System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+		size--;
+	}
+
+	/** @return number of gaps placed before the item at the given position. */
+	int countBefore(int position) {
+		// Gaps at the item position are placed before it
+		return upperBound(position);
+	}
+
+	/**
+	 * @param position position of the item in the original adapter.
+	 * @return wrapper position (not counting start loading row) of the item.
+	 */
+	int toWrapperPosition(int position) {
+		return position + upperBound(position);
+	}
+
+	/**
+	 * @param wrapperPosition wrapper position (not counting start loading row) that is not a gap.
+	 * @return position of the item in the original adapter.
+	 */
+	int toPosition(int wrapperPosition) {
+		return wrapperPosition - firstIndexAtOrAfter(wrapperPosition);
+	}
+
+	/**
+	 * @param wrapperPosition wrapper position (not counting start loading row).
+	 * @return index of the gap at the given position, or -1 if there is no gap at the given position.
+	 */
+	int indexAtWrapperPosition(int wrapperPosition) {
+		int index = firstIndexAtOrAfter(wrapperPosition);
+		return index < size && wrapperPositionAt(index) == wrapperPosition ? index : -1;
+	}
+
+	/** @return index of the first gap with wrapper position not less than the given one, or size if there is none. */
+	int firstIndexAtOrAfter(int wrapperPosition) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (positions[mid] + mid < wrapperPosition) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/** Shift gaps after items inserted in the original adapter. */
+	void onItemRangeInserted(int positionStart, int itemCount) {
+		for (int index = size - 1; index >= 0 && positions[index] >= positionStart; index--) {
+			if (positions[index] > positionStart || kinds[index] != KIND_INTERNAL_START) {
+				positions[index] += itemCount;
+			}
+		}
+	}
+
+	/** Shift gaps after items removed from the original adapter, gaps within removed range move to its start. */
+	void onItemRangeRemoved(int positionStart, int itemCount) {
+		for (int index = size - 1; index >= 0 && positions[index] > positionStart; index--) {
+			positions[index] = Math.max(positionStart, positions[index] - itemCount);
+		}
+		// Gaps collapsed to the same position need to keep internal start rows first
+		for (int i = 1; i < size; i++) {
+			int position = positions[i];
+			int kind = kinds[i];
+			int id = ids[i];
+			int j = i - 1;
+			while (j >= 0 && positions[j] == position
+					&& kind == KIND_INTERNAL_START && kinds[j] != KIND_INTERNAL_START) {
+				positions[j + 1] = positions[j];
+				kinds[j + 1] = kinds[j];
+				ids[j + 1] = ids[j];
+				j--;
+			}
+			positions[j + 1] = position;
+			kinds[j + 1] = kind;
+			ids[j + 1] = id;
+		}
+	}
+
+	/** @return index of the first gap at or after the given item position. */
+	private int lowerBound(int position) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (positions[mid] < position) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/** @return index of the first gap after the given item position. */
+	private int upperBound(int position) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (positions[mid] <= position) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static int[] grow(int[] array, int size) {
+		int[] grown = new int[size * 2];
+		System.arraycopy(array, 0, grown, 0, size);
+		return grown;
+	}
+}
@@ -4,17 +4,33 @@ import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
 import com.paginate.recycler.LoadingListItemCreator;
+import com.paginate.recycler.LoadingRowIds;
 
 class RetroAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 	
+	/** Listener notified around items inserted at the start of the original adapter. */
+	interface PrependListener {
+		
+		/**
+		 * Called before this adapter is updated, positions of this adapter still map to the current layout.
+		 *
+		 * @param itemCount number of items inserted at the start of the original adapter.
+		 */
+		void onItemsPrepending(int itemCount);
+		
+		/** Called after this adapter has been updated and notified about inserted items. */
+		void onItemsPrepended();
+	}
+	
 	private static final int ITEM_VIEW_TYPE_LOADING = Integer.MAX_VALUE - 50; // Magic
 	
 	private final RecyclerView.Adapter wrappedAdapter;
 	private final LoadingListItemCreator loadingListItemCreator;
 	private boolean startLoadingRow;
 	private boolean endLoadingRow;
-	private int internalStartLoadingRow = -1;
-	private int internalEndLoadingRow = -1;
+	// Gap rows between items, including internal start/end loading rows
+	private final GapIndex gaps = new GapIndex();
+	private PrependListener prependListener;
 	
 	public RetroAdapter(RecyclerView.Adapter adapter, LoadingListItemCreator creator) {
 		this.wrappedAdapter = adapter;
@@ -31,27 +47,58 @@ class RetroAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 		
 		@Override
 		public void onItemRangeInserted(int positionStart, int itemCount) {
+			boolean prepended = positionStart == 0 && prependListener != null;
+			if (prepended) {
+				prependListener.onItemsPrepending(itemCount);
+			}
+			// Gaps stay attached to the item that follows them, so new items are placed before gaps at their position
+			gaps.onItemRangeInserted(positionStart, itemCount);
 			notifyItemRangeInserted(getItemPositionFromAdapter(positionStart), itemCount);
+			if (prepended) {
+				prependListener.onItemsPrepended();
+			}
 		}
 		
 		@Override
 		public void onItemRangeChanged(int positionStart, int itemCount) {
-			notifyItemRangeChanged(getItemPositionFromAdapter(positionStart), itemCount);
+			int position = getItemPositionFromAdapter(positionStart);
+			notifyItemRangeChanged(position, getItemPositionFromAdapter(positionStart + itemCount - 1) - position + 1);
 		}
 		
 		@Override
 		public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
-			notifyItemRangeChanged(getItemPositionFromAdapter(positionStart), itemCount, payload);
+			int position = getItemPositionFromAdapter(positionStart);
+			notifyItemRangeChanged(position, getItemPositionFromAdapter(positionStart + itemCount - 1) - position + 1,
+					payload);
 		}
 		
 		@Override
 		public void onItemRangeRemoved(int positionStart, int itemCount) {
-			notifyItemRangeRemoved(getItemPositionFromAdapter(positionStart), itemCount);
+			// Gap rows within removed range are kept, so items are removed in segments between them
+			int gapIndex = gaps.countBefore(positionStart);
+			int position = getItemPositionFromAdapter(positionStart);
+			int item = positionStart;
+			int end = positionStart + itemCount;
+			while (item < end) {
+				int segmentEnd = gapIndex < gaps.size() ? Math.min(end, gaps.positionAt(gapIndex)) : end;
+				if (segmentEnd > item) {
+					notifyItemRangeRemoved(position, segmentEnd - item);
+					item = segmentEnd;
+				}
+				if (item < end) {
+					position++; // Skip the gap row
+					gapIndex++;
+				}
+			}
+			gaps.onItemRangeRemoved(positionStart, itemCount);
 		}
 		
 		@Override
 		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
-			notifyItemMoved(getItemPositionFromAdapter(fromPosition), getItemPositionFromAdapter(toPosition));
+			int from = getItemPositionFromAdapter(fromPosition);
+			gaps.onItemRangeRemoved(fromPosition, itemCount);
+			gaps.onItemRangeInserted(toPosition, itemCount);
+			notifyItemMoved(from, getItemPositionFromAdapter(toPosition));
 		}
 	};
 	
@@ -82,8 +129,7 @@ class RetroAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 		}
 		int additional = endLoadingRow ? 1 : 0;
 		additional += startLoadingRow ? 1 : 0;
-		additional += hasInternalStartLoadingRow() ? 1 : 0;
-		additional += hasInternalEndLoadingRow() ? 1 : 0;
+		additional += gaps.size();
 		return innerCount + additional;
 	}
 	
@@ -97,66 +143,58 @@ class RetroAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 	@Override
 	public long getItemId(int position) {
 		return isLoadingRow(position)
-				? RecyclerView.NO_ID
+				? getLoadingRowId(position)
 				: wrappedAdapter.getItemId(getItemPositionInAdapter(position));
 	}
+
+	private long getLoadingRowId(int position) {
+		if (position == getStartLoadingRowPosition()) {
+			return LoadingRowIds.start();
+		} else if (position == getEndLoadingRowPosition()) {
+			return LoadingRowIds.end(0);
+		}
+		int index = gaps.indexAtWrapperPosition(position - getStartOffset());
+		switch (gaps.kindAt(index)) {
+			case GapIndex.KIND_INTERNAL_START:
+				return LoadingRowIds.internalStart();
+			case GapIndex.KIND_INTERNAL_END:
+				return LoadingRowIds.internalEnd();
+			default:
+				return LoadingRowIds.gap(gaps.idAt(index));
+		}
+	}
 	
 	
 	public RecyclerView.Adapter getWrappedAdapter() {
 		return wrappedAdapter;
 	}
 	
-	public int getItemPositionInAdapter(int index) {
-		int decrease = 0;
-		decrease += startLoadingRow ? 1 : 0;
-		if (hasInternalStartLoadingRow()) {
-			decrease += index > internalStartLoadingRow ? 1 : 0;
-		}
-		if (hasInternalEndLoadingRow()) {
-			decrease += index > internalEndLoadingRow ? 1 : 0;
-		}
-		return index - decrease;
+	void setPrependListener(PrependListener prependListener) {
+		this.prependListener = prependListener;
 	}
 	
-	public int getItemPositionFromAdapter(int index) {
-		int increase = 0;
-		increase += startLoadingRow ? 1 : 0;
-		if (hasInternalStartLoadingRow()) {
-			increase += index > internalStartLoadingRow ? 1 : 0;
-		}
-		if (hasInternalEndLoadingRow()) {
-			increase += index > internalEndLoadingRow ? 1 : 0;
-		}
-		return index + increase;
+	public int getItemPositionInAdapter(int index) {
+		return gaps.toPosition(index - getStartOffset());
 	}
 	
-	private boolean isEndLoadingRow(final int index) {
-		return getEndLoadingRowPosition() == index || getEndInternalLoadingRowPosition() == index;
+	public int getItemPositionFromAdapter(int index) {
+		return getStartOffset() + gaps.toWrapperPosition(index);
 	}
 	
-	private boolean isStartLoadingRow(final int index) {
-		return getStartLoadingRowPosition() == index || getStartInternalLoadingRowPosition() == index;
+	private int getStartOffset() {
+		return startLoadingRow ? 1 : 0;
 	}
 	
 	public int getEndLoadingRowPosition() {
 		if (!endLoadingRow) {
 			return -1;
 		}
-		int position = wrappedAdapter.getItemCount();
-		position += startLoadingRow ? 1 : 0;
-		position += hasInternalStartLoadingRow() ? 1 : 0;
-		position += hasInternalEndLoadingRow() ? 1 : 0;
-		return position;
+		return wrappedAdapter.getItemCount() + getStartOffset() + gaps.size();
 	}
 	
 	public int getEndInternalLoadingRowPosition() {
-		if (!hasInternalEndLoadingRow()) {
-			return -1;
-		}
-		int position = internalEndLoadingRow;
-		position += startLoadingRow ? 1 : 0;
-		position += hasInternalStartLoadingRow() ? 1 : 0;
-		return position;
+		int index = indexOfKind(GapIndex.KIND_INTERNAL_END);
+		return index >= 0 ? getStartOffset() + gaps.wrapperPositionAt(index) : -1;
 	}
 	
 	public int getStartLoadingRowPosition() {
@@ -167,32 +205,68 @@ class RetroAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 	}
 	
 	public int getStartInternalLoadingRowPosition() {
-		if (!hasInternalStartLoadingRow()) {
-			return -1;
-		}
-		int position = internalStartLoadingRow;
-		position += startLoadingRow ? 1 : 0;
-		return position;
+		int index = indexOfKind(GapIndex.KIND_INTERNAL_START);
+		return index >= 0 ? getStartOffset() + gaps.wrapperPositionAt(index) : -1;
+	}
+	
+	public boolean isLoadingRow(int position) {
+		return position == getStartLoadingRowPosition()
+				|| position == getEndLoadingRowPosition()
+				|| gaps.indexAtWrapperPosition(position - getStartOffset()) >= 0;
 	}
 	
-	private boolean hasInternalStartLoadingRow() {
-		return internalStartLoadingRow >= 0;
+	public int getInternalStartLoadingRow() {
+		int index = indexOfKind(GapIndex.KIND_INTERNAL_START);
+		return index >= 0 ? gaps.positionAt(index) : -1;
 	}
 	
-	private boolean hasInternalEndLoadingRow() {
-		return internalEndLoadingRow >= 0;
+	public int getInternalEndLoadingRow() {
+		int index = indexOfKind(GapIndex.KIND_INTERNAL_END);
+		return index >= 0 ? gaps.positionAt(index) : -1;
 	}
 	
-	public boolean isLoadingRow(int position) {
-		return isStartLoadingRow(position) || isEndLoadingRow(position);
+	/**
+	 * Add gap row before the item at the given position. Items inserted at gap position are placed before the gap,
+	 * so the gap stays attached to the item that follows it.
+	 *
+	 * @param position position of the item in the original adapter, or item count for gap after the last item.
+	 */
+	public void addGap(int position) {
+		if (hasGap(position)) {
+			return;
+		}
+		int index = gaps.add(position, GapIndex.KIND_GAP);
+		notifyItemInserted(getStartOffset() + gaps.wrapperPositionAt(index));
 	}
 	
-	public int getInternalStartLoadingRow() {
-		return internalStartLoadingRow;
+	public void removeGap(int position) {
+		int index = gaps.indexOf(position, GapIndex.KIND_GAP);
+		if (index < 0) {
+			return;
+		}
+		int wrapperPosition = getStartOffset() + gaps.wrapperPositionAt(index);
+		gaps.removeAt(index);
+		notifyItemRemoved(wrapperPosition);
 	}
 	
-	public int getInternalEndLoadingRow() {
-		return internalEndLoadingRow;
+	public boolean hasGap(int position) {
+		return gaps.indexOf(position, GapIndex.KIND_GAP) >= 0;
+	}
+	
+	/**
+	 * Find the first gap row at or after the given position, internal start/end loading rows are skipped.
+	 *
+	 * @param position position in this adapter.
+	 * @return position of the gap row in this adapter, or -1 if there is no such gap. Position of the gap row maps
+	 * to position of the item that follows the gap with {@link #getItemPositionInAdapter(int)}.
+	 */
+	public int findGapFrom(int position) {
+		for (int index = gaps.firstIndexAtOrAfter(position - getStartOffset()); index < gaps.size(); index++) {
+			if (gaps.kindAt(index) == GapIndex.KIND_GAP) {
+				return getStartOffset() + gaps.wrapperPositionAt(index);
+			}
+		}
+		return -1;
 	}
 	
 	public void displayStartLoadingRow(boolean startLoadingRow) {
@@ -218,31 +292,38 @@ class RetroAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 	}
 	
 	public void displayInternalStartLoadingRow(int internalStartLoadingRow) {
-		if (this.internalStartLoadingRow != internalStartLoadingRow) {
-			int oldRow = this.internalStartLoadingRow;
-			this.internalStartLoadingRow = internalStartLoadingRow;
-			if (internalStartLoadingRow >= 0) {
-				notifyItemInserted(getItemPositionFromAdapter(internalStartLoadingRow));
-			}
-			if (oldRow >= 0) {
-				notifyItemRemoved(getItemPositionFromAdapter((oldRow)));
-			}
-			
-		}
-		
+		displayInternalLoadingRow(GapIndex.KIND_INTERNAL_START, internalStartLoadingRow);
 	}
 	
 	public void displayInternalEndLoadingRow(int internalEndLoadingRow) {
-		if (this.internalEndLoadingRow != internalEndLoadingRow) {
-			int oldRow = this.internalEndLoadingRow;
-			this.internalEndLoadingRow = internalEndLoadingRow;
-			if (internalEndLoadingRow >= 0) {
-				notifyItemInserted(getItemPositionFromAdapter(internalEndLoadingRow));
-			}
-			if (oldRow >= 0) {
-				notifyItemRemoved(getItemPositionFromAdapter(oldRow));
+		displayInternalLoadingRow(GapIndex.KIND_INTERNAL_END, internalEndLoadingRow);
+	}
+	
+	/** Move internal loading row before the item at the given position, or remove it if position is negative. */
+	private void displayInternalLoadingRow(int kind, int position) {
+		int index = indexOfKind(kind);
+		int oldRow = index >= 0 ? gaps.positionAt(index) : -1;
+		if (oldRow == position || (oldRow < 0 && position < 0)) {
+			return;
+		}
+		if (index >= 0) {
+			int wrapperPosition = getStartOffset() + gaps.wrapperPositionAt(index);
+			gaps.removeAt(index);
+			notifyItemRemoved(wrapperPosition);
+		}
+		if (position >= 0) {
+			index = gaps.add(position, kind);
+			notifyItemInserted(getStartOffset() + gaps.wrapperPositionAt(index));
+		}
+	}
+	
+	private int indexOfKind(int kind) {
+		// At most one internal row of each kind, scanned since it's looked up by kind rather than position
+		for (int index = 0; index < gaps.size(); index++) {
+			if (gaps.kindAt(index) == kind) {
+				return index;
 			}
 		}
-		
+		return -1;
 	}
-}
\ No newline at end of file
+}
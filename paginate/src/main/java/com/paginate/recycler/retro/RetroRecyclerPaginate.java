@@ -4,47 +4,70 @@ import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.StaggeredGridLayoutManager;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewTreeObserver;
 
 import com.paginate.Paginate;
 import com.paginate.recycler.DefaultLoadingListItemSpanLookup;
 import com.paginate.recycler.LoadingListItemCreator;
 import com.paginate.recycler.LoadingListItemSpanLookup;
+import com.paginate.recycler.VisibleRangeProvider;
+import com.paginate.recycler.VisibleRangeProviders;
 
 public final class RetroRecyclerPaginate extends Paginate {
 
 	private final RecyclerView recyclerView;
 	private final RetroCallbacks callbacks;
 	private final RetroCallbacks internalCallbacks;
+	private final GapCallbacks gapCallbacks;
 	private final int loadingTriggerThreshold;
+	private final float loadingTriggerScreens;
+	private final int loadingTriggerDistance;
+	private final int maxItemCount;
+	private final WindowCallbacks windowCallbacks;
+	private final VisibleRangeProvider visibleRangeProvider;
+	private final boolean anchoredPrepend;
 	private RetroAdapter wrapperAdapter;
 	private RetroWrapperSpanSizeLookup wrapperSpanSizeLookup;
-
-	RetroRecyclerPaginate(RecyclerView recyclerView,
-	                      RetroCallbacks callbacks,
-	                      RetroCallbacks internalCallbacks,
-	                      int loadingTriggerThreshold,
-	                      boolean addLoadingListItem,
-	                      LoadingListItemCreator loadingListItemCreator,
-	                      LoadingListItemSpanLookup loadingListItemSpanLookup) {
-		this.recyclerView = recyclerView;
-		this.callbacks = callbacks;
-		this.internalCallbacks = internalCallbacks;
-		this.loadingTriggerThreshold = loadingTriggerThreshold;
+	private int lastVisibleItemStartPosition;
+	private int lastVisibleItemEndPosition;
+	private boolean trimScheduled;
+	// Position (in the original adapter) and offset of the item that stays in place while items are prepended
+	private int anchorItemPosition = RecyclerView.NO_POSITION;
+	private int anchorOffset;
+
+	RetroRecyclerPaginate(Builder builder) {
+		this.recyclerView = builder.recyclerView;
+		this.callbacks = builder.callbacks;
+		this.internalCallbacks = builder.internalCallbacks;
+		this.gapCallbacks = builder.gapCallbacks;
+		this.loadingTriggerThreshold = builder.loadingTriggerThreshold;
+		this.loadingTriggerScreens = builder.loadingTriggerScreens;
+		this.loadingTriggerDistance = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+				builder.loadingTriggerDistanceDp, recyclerView.getResources().getDisplayMetrics());
+		this.maxItemCount = builder.maxItemCount;
+		this.windowCallbacks = builder.windowCallbacks;
+		this.visibleRangeProvider = builder.visibleRangeProvider;
+		this.anchoredPrepend = builder.anchoredPrepend;
 
 		// Attach scrolling listener in order to perform end offset check on each scroll event
 		recyclerView.addOnScrollListener(mOnScrollListener);
 
-		if (addLoadingListItem) {
+		if (builder.addLoadingListItem) {
 			// Wrap existing adapter with new adapter that will add loading row
 			RecyclerView.Adapter adapter = recyclerView.getAdapter();
-			wrapperAdapter = new RetroAdapter(adapter, loadingListItemCreator);
+			wrapperAdapter = new RetroAdapter(adapter, builder.loadingListItemCreator);
 			recyclerView.setAdapter(wrapperAdapter);
+			if (anchoredPrepend) {
+				wrapperAdapter.setPrependListener(mPrependListener);
+			}
 
 			// For GridLayoutManager use separate/customisable span lookup for loading row
 			if (recyclerView.getLayoutManager() instanceof GridLayoutManager) {
 				wrapperSpanSizeLookup = new RetroWrapperSpanSizeLookup(
 						((GridLayoutManager) recyclerView.getLayoutManager()).getSpanSizeLookup(),
-						loadingListItemSpanLookup,
+						builder.loadingListItemSpanLookup,
 						wrapperAdapter);
 				((GridLayoutManager) recyclerView.getLayoutManager()).setSpanSizeLookup(wrapperSpanSizeLookup);
 			}
@@ -63,6 +86,7 @@ public final class RetroRecyclerPaginate extends Paginate {
 	public void setHasMoreDataToLoadOnStart(boolean hasMoreDataToLoad) {
 		if (wrapperAdapter != null) {
 			wrapperAdapter.displayStartLoadingRow(hasMoreDataToLoad);
+			restoreAnchor(); // Start loading row shifts the anchor item
 		}
 	}
 
@@ -78,6 +102,29 @@ public final class RetroRecyclerPaginate extends Paginate {
 		}
 	}
 
+	/**
+	 * Display gap loading row before the item at the given position. Missing items are requested through {@link
+	 * GapCallbacks} once the gap gets near the viewport. Any number of gaps can be displayed.
+	 *
+	 * @param position position of the item in the original adapter, or item count for gap after the last item.
+	 */
+	public void addGap(int position) {
+		if (wrapperAdapter != null) {
+			wrapperAdapter.addGap(position);
+		}
+	}
+
+	/**
+	 * Remove gap loading row once the gap is filled.
+	 *
+	 * @param position position of the item (in the original adapter) that follows the gap.
+	 */
+	public void removeGap(int position) {
+		if (wrapperAdapter != null) {
+			wrapperAdapter.removeGap(position);
+		}
+	}
+
 	public int getInternalLoadPosition() {
 		return wrapperAdapter.getInternalEndLoadingRow();
 	}
@@ -105,9 +152,13 @@ public final class RetroRecyclerPaginate extends Paginate {
 	@Override
 	public void unbind() {
 		recyclerView.removeOnScrollListener(mOnScrollListener);   // Remove scroll listener
+		recyclerView.removeCallbacks(trimWindowRunnable);         // Cancel pending window trim
+		cancelLoading(callbacks);                                 // Cancel in-flight page requests
 		if (recyclerView.getAdapter() instanceof RetroAdapter) {
 			RetroAdapter wrapperAdapter = (RetroAdapter) recyclerView.getAdapter();
 			RecyclerView.Adapter adapter = wrapperAdapter.getWrappedAdapter();
+			wrapperAdapter.setPrependListener(null);              // Remove prepend listener
+			clearAnchor();
 			recyclerView.setAdapter(adapter);                     // Swap back original adapter
 		}
 		if (recyclerView.getLayoutManager() instanceof GridLayoutManager && wrapperSpanSizeLookup != null) {
@@ -124,41 +175,62 @@ public final class RetroRecyclerPaginate extends Paginate {
 			return;
 		}
 
-		int visibleItemEndPosition = 0;
-		int visibleItemStartPosition = 0;
+		int visibleItemEndPosition = visibleRangeProvider.findLastVisibleItemPosition();
+		int visibleItemStartPosition = visibleRangeProvider.findFirstVisibleItemPosition();
+		if (visibleItemStartPosition == RecyclerView.NO_POSITION) {
+			// Nothing laid out yet
+			visibleItemEndPosition = 0;
+			visibleItemStartPosition = 0;
+		}
 
-		if (recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
-			LinearLayoutManager linearLayoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
-			visibleItemEndPosition = linearLayoutManager.findLastVisibleItemPosition();
-			visibleItemStartPosition = linearLayoutManager.findFirstVisibleItemPosition();
+		lastVisibleItemStartPosition = visibleItemStartPosition;
+		lastVisibleItemEndPosition = visibleItemEndPosition;
+		if (windowCallbacks != null && !trimScheduled && wrapperAdapter != null
+				&& wrapperAdapter.getWrappedAdapter().getItemCount() > maxItemCount) {
+			// Adapter can't be modified from the scroll callback so trimming is done right after it
+			trimScheduled = true;
+			recyclerView.post(trimWindowRunnable);
+		}
 
-		} else if (recyclerView.getLayoutManager() instanceof StaggeredGridLayoutManager) {
-			// https://code.google.com/p/android/issues/detail?id=181461
-			if (recyclerView.getLayoutManager().getChildCount() > 0) {
-				StaggeredGridLayoutManager gridLayoutManager = (StaggeredGridLayoutManager) recyclerView.getLayoutManager();
-				visibleItemEndPosition = gridLayoutManager.findLastVisibleItemPositions(null)
-						[0];
-				visibleItemStartPosition = gridLayoutManager.findFirstVisibleItemPositions(null)
-						[0];
+		int endLoadingRowPosition = wrapperAdapter.getEndLoadingRowPosition();
+		int startLoadingRowPosition = wrapperAdapter.getStartLoadingRowPosition();
+		boolean endReached;
+		boolean startReached;
+		if (loadingTriggerScreens > 0 || loadingTriggerDistance > 0) {
+			// Check if remaining scroll distance on either side is within the trigger distance
+			boolean vertical = recyclerView.getLayoutManager().canScrollVertically();
+			int offset;
+			int remainingDistance;
+			if (vertical) {
+				offset = recyclerView.computeVerticalScrollOffset();
+				remainingDistance = recyclerView.computeVerticalScrollRange() - offset
+						- recyclerView.computeVerticalScrollExtent();
+			} else {
+				offset = recyclerView.computeHorizontalScrollOffset();
+				remainingDistance = recyclerView.computeHorizontalScrollRange() - offset
+						- recyclerView.computeHorizontalScrollExtent();
 			}
+			float triggerDistance = loadingTriggerScreens > 0
+					? loadingTriggerScreens * (vertical ? recyclerView.getHeight() : recyclerView.getWidth())
+					: loadingTriggerDistance;
+			endReached = endLoadingRowPosition != -1 && remainingDistance <= triggerDistance;
+			startReached = startLoadingRowPosition != -1 && offset <= triggerDistance;
 		} else {
-			throw new IllegalStateException("LayoutManager needs to subclass LinearLayoutManager or StaggeredGridLayoutManager");
+			// Check if end of the list is reached (counting threshold)
+			endReached = endLoadingRowPosition != -1
+					&& endLoadingRowPosition <= visibleItemEndPosition + loadingTriggerThreshold;
+			startReached = startLoadingRowPosition != -1
+					&& startLoadingRowPosition >= visibleItemStartPosition - loadingTriggerThreshold;
 		}
 
-		// Check if end of the list is reached (counting threshold) or if there is no items at all
-		
-		int loadingRowPosition = wrapperAdapter.getEndLoadingRowPosition();
-		if (loadingRowPosition != -1 &&
-				(loadingRowPosition <= (visibleItemEndPosition + loadingTriggerThreshold))) {
+		if (endReached) {
 			// Call load more only if loading is not currently in progress and if there is more items to load
 			if (!callbacks.isLoading() && !callbacks.hasLoadedAllItems()) {
 				callbacks.onLoadMore();
 			}
 		}
-		
-		loadingRowPosition = wrapperAdapter.getStartLoadingRowPosition();
-		if (loadingRowPosition != -1 &&
-				(loadingRowPosition >= (visibleItemStartPosition - loadingTriggerThreshold))) {
+
+		if (startReached) {
 			// Call load more only if loading is not currently in progress and if there is more items to load
 			if (!callbacks.isLoadingFromStart() && !callbacks.hasLoadedAllItemsFromStart()) {
 				callbacks.onLoadMoreFromStart();
@@ -185,8 +257,148 @@ public final class RetroRecyclerPaginate extends Paginate {
 				}
 			}
 		}
+
+		if (gapCallbacks != null && !gapCallbacks.isLoadingGap()) {
+			// Fill only the first gap within threshold from the viewport, gaps further away are skipped by the lookup
+			int gapPosition = wrapperAdapter.findGapFrom(visibleItemStartPosition - loadingTriggerThreshold);
+			if (gapPosition != -1 && gapPosition <= visibleItemEndPosition + loadingTriggerThreshold) {
+				gapCallbacks.onLoadGap(wrapperAdapter.getItemPositionInAdapter(gapPosition));
+			}
+		}
 	}
 
+	/**
+	 * Remove items that are far from the viewport once the window exceeds max item count. Items are removed from the
+	 * side that has more items outside of the viewport, keeping a margin of twice the loading threshold so that trimmed
+	 * items are not requested again right away.
+	 */
+	private final Runnable trimWindowRunnable = new Runnable() {
+		@Override
+		public void run() {
+			trimScheduled = false;
+
+			int itemCount = wrapperAdapter.getWrappedAdapter().getItemCount();
+			int excess = itemCount - maxItemCount;
+			if (excess <= 0) {
+				return;
+			}
+
+			int margin = 2 * loadingTriggerThreshold;
+			int itemsBefore = Math.max(0, wrapperAdapter.getItemPositionInAdapter(lastVisibleItemStartPosition));
+			int itemsAfter = itemCount - 1 - wrapperAdapter.getItemPositionInAdapter(lastVisibleItemEndPosition);
+
+			if (itemsBefore >= itemsAfter) {
+				int trimCount = Math.min(excess, itemsBefore - margin);
+				int trimmedCount = trimCount > 0 ? windowCallbacks.onTrimStart(trimCount) : 0;
+				if (trimmedCount > 0) {
+					if (callbacks instanceof TrimListener) {
+						((TrimListener) callbacks).onTrimmedStart(trimmedCount); // Rewind to trimmed pages
+					}
+					setHasMoreDataToLoadOnStart(true);
+				}
+			} else {
+				int trimCount = Math.min(excess, itemsAfter - margin);
+				int trimmedCount = trimCount > 0 ? windowCallbacks.onTrimEnd(trimCount) : 0;
+				if (trimmedCount > 0) {
+					if (callbacks instanceof TrimListener) {
+						((TrimListener) callbacks).onTrimmedEnd(trimmedCount); // Rewind to trimmed pages
+					}
+					setHasMoreDataToLoad(true);
+				}
+			}
+		}
+	};
+
+	/**
+	 * Record the first visible item and its offset before items are prepended, so that it stays in place once the
+	 * list is laid out with new items.
+	 */
+	private void anchorFirstVisibleItem(int prependedItemCount) {
+		RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+		if (!isAnchorSupported(layoutManager)) {
+			return;
+		}
+		if (anchorItemPosition != RecyclerView.NO_POSITION) {
+			// Views are bound to positions before the previous insert, which is already counted in the anchor
+			anchorItemPosition += prependedItemCount;
+			return;
+		}
+
+		int firstPosition = visibleRangeProvider.findFirstVisibleItemPosition();
+		int lastPosition = visibleRangeProvider.findLastVisibleItemPosition();
+		if (firstPosition == RecyclerView.NO_POSITION) {
+			return;
+		}
+		for (int position = firstPosition; position <= lastPosition; position++) {
+			// Views are not laid out yet, so they are still bound to positions before the insert
+			View view = layoutManager.findViewByPosition(position);
+			if (view != null && !wrapperAdapter.isLoadingRow(position)) {
+				recyclerView.getViewTreeObserver().addOnGlobalLayoutListener(mAnchorLayoutListener);
+				anchorItemPosition = wrapperAdapter.getItemPositionInAdapter(position) + prependedItemCount;
+				anchorOffset = layoutManager.canScrollVertically()
+						? layoutManager.getDecoratedTop(view) - layoutManager.getPaddingTop()
+						: layoutManager.getDecoratedLeft(view) - layoutManager.getPaddingLeft();
+				return;
+			}
+		}
+	}
+
+	/** Scroll anchor item to its recorded offset on the next layout. */
+	private void restoreAnchor() {
+		if (anchorItemPosition == RecyclerView.NO_POSITION) {
+			return;
+		}
+		int position = wrapperAdapter.getItemPositionFromAdapter(anchorItemPosition);
+		RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+		if (layoutManager instanceof LinearLayoutManager) {
+			((LinearLayoutManager) layoutManager).scrollToPositionWithOffset(position, anchorOffset);
+		} else if (layoutManager instanceof StaggeredGridLayoutManager) {
+			((StaggeredGridLayoutManager) layoutManager).scrollToPositionWithOffset(position, anchorOffset);
+		}
+	}
+
+	private static boolean isAnchorSupported(RecyclerView.LayoutManager layoutManager) {
+		// Items prepended to reversed layout are added at the bottom, content above them doesn't move
+		if (layoutManager instanceof LinearLayoutManager) {
+			return !((LinearLayoutManager) layoutManager).getReverseLayout();
+		} else if (layoutManager instanceof StaggeredGridLayoutManager) {
+			return !((StaggeredGridLayoutManager) layoutManager).getReverseLayout();
+		}
+		return false;
+	}
+
+	/** Drop the anchor once the layout that applies it has completed. */
+	@SuppressWarnings("deprecation")
+	private void clearAnchor() {
+		if (anchorItemPosition != RecyclerView.NO_POSITION) {
+			anchorItemPosition = RecyclerView.NO_POSITION;
+			// Replaced by removeOnGlobalLayoutListener on API 16
+			recyclerView.getViewTreeObserver().removeGlobalOnLayoutListener(mAnchorLayoutListener);
+		}
+	}
+
+	private final RetroAdapter.PrependListener mPrependListener = new RetroAdapter.PrependListener() {
+		@Override
+		public void onItemsPrepending(int itemCount) {
+			// Views are still bound to positions before the insert, and so is position mapping of wrapper adapter
+			anchorFirstVisibleItem(itemCount);
+		}
+
+		@Override
+		public void onItemsPrepended() {
+			// Gaps have been shifted, so anchor item is mapped to its position after the insert
+			restoreAnchor();
+		}
+	};
+
+	private final ViewTreeObserver.OnGlobalLayoutListener mAnchorLayoutListener =
+			new ViewTreeObserver.OnGlobalLayoutListener() {
+				@Override
+				public void onGlobalLayout() {
+					clearAnchor();
+				}
+			};
+
 	private final RecyclerView.OnScrollListener mOnScrollListener = new RecyclerView.OnScrollListener() {
 		@Override
 		public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
@@ -199,8 +411,15 @@ public final class RetroRecyclerPaginate extends Paginate {
 		private final RecyclerView recyclerView;
 		private final RetroCallbacks callbacks;
 		private RetroCallbacks internalCallbacks;
+		private GapCallbacks gapCallbacks;
 
 		private int loadingTriggerThreshold = 5;
+		private float loadingTriggerScreens = 0;
+		private float loadingTriggerDistanceDp = 0;
+		private int maxItemCount = Integer.MAX_VALUE;
+		private WindowCallbacks windowCallbacks;
+		private VisibleRangeProvider visibleRangeProvider;
+		private boolean anchoredPrepend = false;
 		private boolean addLoadingListItem = true;
 		private LoadingListItemCreator loadingListItemCreator;
 		private LoadingListItemSpanLookup loadingListItemSpanLookup;
@@ -215,6 +434,18 @@ public final class RetroRecyclerPaginate extends Paginate {
 			return this;
 		}
 
+		/**
+		 * Set callbacks that fill gap loading rows added with {@link RetroRecyclerPaginate#addGap(int)}. Gap is
+		 * requested once it is within loading threshold from the viewport, gaps far from the viewport are not loaded.
+		 *
+		 * @param gapCallbacks callbacks that load items missing in the gap.
+		 * @return {@link RetroRecyclerPaginate.Builder}
+		 */
+		public Builder setGapCallbacks(GapCallbacks gapCallbacks) {
+			this.gapCallbacks = gapCallbacks;
+			return this;
+		}
+
 		/**
 		 * Set the offset from the end of the list at which the load more event needs to be triggered. Default offset
 		 * if 5.
@@ -227,6 +458,86 @@ public final class RetroRecyclerPaginate extends Paginate {
 			return this;
 		}
 
+		/**
+		 * Trigger the load more events once remaining scroll distance to either end of the list drops below the given
+		 * number of viewport heights (widths for horizontal lists). Use this instead of item threshold when items have
+		 * very different sizes. Internal loading rows still use item threshold. Disabled by default.
+		 *
+		 * @param screens distance from the end of the list in viewport sizes (e.g. 1.5), or 0 to use item threshold.
+		 * @return {@link RetroRecyclerPaginate.Builder}
+		 */
+		public Builder setLoadingTriggerDistanceInScreens(float screens) {
+			if (screens < 0) {
+				throw new IllegalArgumentException("screens can't be negative");
+			}
+			this.loadingTriggerScreens = screens;
+			this.loadingTriggerDistanceDp = 0;
+			return this;
+		}
+
+		/**
+		 * Trigger the load more events once remaining scroll distance to either end of the list drops below the given
+		 * distance. Disabled by default.
+		 *
+		 * @param dp distance from the end of the list in density-independent pixels, or 0 to use item threshold.
+		 * @return {@link RetroRecyclerPaginate.Builder}
+		 * @see {@link RetroRecyclerPaginate.Builder#setLoadingTriggerDistanceInScreens(float)}
+		 */
+		public Builder setLoadingTriggerDistanceInDp(float dp) {
+			if (dp < 0) {
+				throw new IllegalArgumentException("dp can't be negative");
+			}
+			this.loadingTriggerDistanceDp = dp;
+			this.loadingTriggerScreens = 0;
+			return this;
+		}
+
+		/**
+		 * Keep only a window of items around the viewport. Once the number of items in the adapter exceeds max item
+		 * count, items far from the viewport are trimmed through {@link WindowCallbacks} and loading row is added on
+		 * that side, so trimmed items are loaded again through {@link RetroCallbacks} when the user scrolls back.
+		 * Callbacks that keep paging keys (e.g. {@link com.paginate.source.PageLoader}) need to implement {@link
+		 * TrimListener} so that their keys are moved back to the trimmed pages. Max item count needs to be considerably
+		 * larger than the number of visible items. Disabled by default.
+		 *
+		 * @param maxItemCount    maximum number of items kept in the adapter.
+		 * @param windowCallbacks callbacks that remove items from the adapter data.
+		 * @return {@link RetroRecyclerPaginate.Builder}
+		 */
+		public Builder setSlidingWindow(int maxItemCount, WindowCallbacks windowCallbacks) {
+			this.maxItemCount = maxItemCount;
+			this.windowCallbacks = windowCallbacks;
+			return this;
+		}
+
+		/**
+		 * Set custom provider of the visible item range. Use this when LayoutManager is neither {@link
+		 * LinearLayoutManager} nor {@link StaggeredGridLayoutManager}. Provider for stock LayoutManagers is resolved
+		 * when Paginate is built, so Paginate needs to be rebuilt if LayoutManager is replaced.
+		 *
+		 * @param visibleRangeProvider provider that will be called on each scroll event.
+		 * @return {@link RetroRecyclerPaginate.Builder}
+		 */
+		public Builder setVisibleRangeProvider(VisibleRangeProvider visibleRangeProvider) {
+			this.visibleRangeProvider = visibleRangeProvider;
+			return this;
+		}
+
+		/**
+		 * Keep the first visible item in place when items are inserted at the start of the original adapter (e.g.
+		 * after {@link RetroCallbacks#onLoadMoreFromStart()}). Item position and offset are recorded before the insert
+		 * and restored in the same layout pass, also when start loading row is removed right after, so backward paging
+		 * doesn't cause visible jumps. Supported for {@link LinearLayoutManager} and {@link
+		 * StaggeredGridLayoutManager} that are not reversed. Used only when loading row is added. Disabled by default.
+		 *
+		 * @param anchoredPrepend true if first visible item needs to be kept in place, false otherwise.
+		 * @return {@link RetroRecyclerPaginate.Builder}
+		 */
+		public Builder setAnchoredPrepend(boolean anchoredPrepend) {
+			this.anchoredPrepend = anchoredPrepend;
+			return this;
+		}
+
 		/**
 		 * Setup loading row. If loading row is used original adapter set on RecyclerView will be wrapped with
 		 * internal adapter that will add loading row as the last item in the list. Paginate will observer the
@@ -287,8 +598,11 @@ public final class RetroRecyclerPaginate extends Paginate {
 				loadingListItemSpanLookup = new DefaultLoadingListItemSpanLookup(recyclerView.getLayoutManager());
 			}
 
-			return new RetroRecyclerPaginate(recyclerView, callbacks, internalCallbacks, loadingTriggerThreshold, addLoadingListItem,
-					loadingListItemCreator, loadingListItemSpanLookup);
+			if (visibleRangeProvider == null) {
+				visibleRangeProvider = VisibleRangeProviders.forLayoutManager(recyclerView.getLayoutManager());
+			}
+
+			return new RetroRecyclerPaginate(this);
 		}
 	}
 
@@ -301,4 +615,63 @@ public final class RetroRecyclerPaginate extends Paginate {
 		boolean hasLoadedAllItemsFromStart();
 	}
 
+	/**
+	 * Callbacks used to fill gaps of missing items in the middle of the list (e.g. after reconnecting). Loaded items
+	 * are inserted at the gap position, which places them before the gap, and the gap is removed with {@link
+	 * RetroRecyclerPaginate#removeGap(int)} once there are no more items missing.
+	 */
+	public interface GapCallbacks {
+
+		/**
+		 * Load items missing before the item at the given position.
+		 *
+		 * @param position position of the item (in the original adapter) that follows the gap.
+		 */
+		void onLoadGap(int position);
+
+		boolean isLoadingGap();
+	}
+
+	/**
+	 * Listener implemented by {@link RetroCallbacks} that keep paging keys, notified after sliding window has trimmed
+	 * items, so that trimmed items are requested again by the next load more on that side.
+	 */
+	public interface TrimListener {
+
+		/**
+		 * @param itemCount number of items removed from the start of the adapter data.
+		 */
+		void onTrimmedStart(int itemCount);
+
+		/**
+		 * @param itemCount number of items removed from the end of the adapter data.
+		 */
+		void onTrimmedEnd(int itemCount);
+	}
+
+	/**
+	 * Callbacks used by sliding window to remove items that are far from the viewport. After items are trimmed from
+	 * one side, {@link RetroCallbacks} need to report that there is more data to load on that side.
+	 */
+	public interface WindowCallbacks {
+
+		/**
+		 * Remove items from the start of the adapter data and notify the adapter about removal. Removal can be rounded
+		 * down (e.g. to whole pages) so that removed items can be loaded again.
+		 *
+		 * @param itemCount maximum number of items to remove.
+		 * @return number of items actually removed.
+		 */
+		int onTrimStart(int itemCount);
+
+		/**
+		 * Remove items from the end of the adapter data and notify the adapter about removal. Removal can be rounded
+		 * down (e.g. to whole pages) so that removed items can be loaded again.
+		 *
+		 * @param itemCount maximum number of items to remove.
+		 * @return number of items actually removed.
+		 */
+		int onTrimEnd(int itemCount);
+	}
+
 }
\ No newline at end of file
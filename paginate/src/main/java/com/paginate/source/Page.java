@@ -0,0 +1,47 @@
+package com.paginate.source;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single page of items loaded by the {@link PageSource}.
+ *
+ * @param <Key> type of the page key.
+ * @param <T>   type of the items.
+ */
+public final class Page<Key, T> {
+
+	private final Key key;
+	private final List<T> items;
+	private final Key previousKey;
+	private final Key nextKey;
+
+	/**
+	 * @param key         key of this page.
+	 * @param items       items of this page.
+	 * @param previousKey key of the page before this one, or null if this is the first page.
+	 * @param nextKey     key of the page after this one, or null if this is the last page.
+	 */
+	public Page(Key key, List<T> items, Key previousKey, Key nextKey) {
+		this.key = key;
+		this.items = Collections.unmodifiableList(items);
+		this.previousKey = previousKey;
+		this.nextKey = nextKey;
+	}
+
+	public Key getKey() {
+		return key;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public Key getPreviousKey() {
+		return previousKey;
+	}
+
+	public Key getNextKey() {
+		return nextKey;
+	}
+}
@@ -0,0 +1,191 @@
+package com.paginate.source;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory LRU cache of pages used by {@link PageLoader}. Cache is bounded either by number of pages or by total size
+ * calculated with {@link SizeEstimator}. Keep the cache instance longer than the list (e.g. in the application scope)
+ * so that revisiting the list is served from memory. Cache can be trimmed on memory pressure, see {@link
+ * #register(Context)}.
+ * <p/>
+ * This class is thread safe.
+ *
+ * @param <Key> type of the page key.
+ * @param <T>   type of the items.
+ */
+public final class PageCache<Key, T> {
+
+	/** Estimates memory footprint of the page, in any unit that is also used for max size. */
+	public interface SizeEstimator<Key, T> {
+
+		/**
+		 * @param page cached page.
+		 * @return size of the page, needs to be constant while the page is cached.
+		 */
+		int sizeOf(Page<Key, T> page);
+	}
+
+	private final LinkedHashMap<Key, Page<Key, T>> pages = new LinkedHashMap<>(16, 0.75f, true);
+	private final int maxSize;
+	private final SizeEstimator<Key, T> sizeEstimator;
+	private int size;
+	private Object trimMemoryCallbacks;
+
+	/**
+	 * Create cache bounded by number of pages.
+	 *
+	 * @param maxPageCount maximum number of cached pages.
+	 */
+	public PageCache(int maxPageCount) {
+		this(maxPageCount, null);
+	}
+
+	/**
+	 * Create cache bounded by total size of pages.
+	 *
+	 * @param maxSize       maximum total size of cached pages.
+	 * @param sizeEstimator estimator of page size, or null to count pages.
+	 */
+	public PageCache(int maxSize, SizeEstimator<Key, T> sizeEstimator) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize needs to be positive");
+		}
+		this.maxSize = maxSize;
+		this.sizeEstimator = sizeEstimator;
+	}
+
+	/**
+	 * @param key key of the page.
+	 * @return cached page or null if page is not cached.
+	 */
+	public synchronized Page<Key, T> get(Key key) {
+		return pages.get(key);
+	}
+
+	/**
+	 * Cache the page under its key, least recently used pages are evicted if max size is exceeded.
+	 *
+	 * @param page page to cache.
+	 */
+	public synchronized void put(Page<Key, T> page) {
+		Page<Key, T> previous = pages.put(page.getKey(), page);
+		if (previous != null) {
+			size -= sizeOf(previous);
+		}
+		size += sizeOf(page);
+		trimToSize(maxSize);
+	}
+
+	/**
+	 * @param key key of the page to remove from the cache.
+	 */
+	public synchronized void remove(Key key) {
+		Page<Key, T> previous = pages.remove(key);
+		if (previous != null) {
+			size -= sizeOf(previous);
+		}
+	}
+
+	/** Remove all pages from the cache. */
+	public synchronized void clear() {
+		pages.clear();
+		size = 0;
+	}
+
+	/** @return total size of cached pages. */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Evict least recently used pages until total size is not greater than the given size.
+	 *
+	 * @param targetSize max total size of remaining pages.
+	 */
+	public synchronized void trimToSize(int targetSize) {
+		Iterator<Map.Entry<Key, Page<Key, T>>> iterator = pages.entrySet().iterator();
+		while (size > targetSize && iterator.hasNext()) {
+			size -= sizeOf(iterator.next().getValue());
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Trim the cache according to the memory trim level (see {@link ComponentCallbacks2}). Cache is cleared on moderate
+	 * or critical memory pressure and trimmed to half of its max size on lower levels.
+	 *
+	 * @param level memory trim level.
+	 */
+	public void onTrimMemory(int level) {
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+				|| level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+			clear();
+		} else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+				|| level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			trimToSize(maxSize / 2);
+		}
+	}
+
+	/**
+	 * Trim the cache automatically when the system reports memory pressure. Memory trim levels are available on Ice
+	 * Cream Sandwich and newer, this method does nothing on older versions.
+	 *
+	 * @param context any context, application context is used for registration.
+	 */
+	public synchronized void register(Context context) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH && trimMemoryCallbacks == null) {
+			TrimMemoryCallbacks callbacks = new TrimMemoryCallbacks(this);
+			context.getApplicationContext().registerComponentCallbacks(callbacks);
+			trimMemoryCallbacks = callbacks;
+		}
+	}
+
+	/**
+	 * Stop trimming the cache on memory pressure.
+	 *
+	 * @param context any context, application context is used for registration.
+	 */
+	public synchronized void unregister(Context context) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH && trimMemoryCallbacks != null) {
+			context.getApplicationContext().unregisterComponentCallbacks((TrimMemoryCallbacks) trimMemoryCallbacks);
+			trimMemoryCallbacks = null;
+		}
+	}
+
+	private int sizeOf(Page<Key, T> page) {
+		return sizeEstimator != null ? sizeEstimator.sizeOf(page) : 1;
+	}
+
+	@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+	private static class TrimMemoryCallbacks implements ComponentCallbacks2 {
+
+		private final PageCache<?, ?> cache;
+
+		TrimMemoryCallbacks(PageCache<?, ?> cache) {
+			this.cache = cache;
+		}
+
+		@Override
+		public void onTrimMemory(int level) {
+			cache.onTrimMemory(level);
+		}
+
+		@Override
+		public void onLowMemory() {
+			cache.clear();
+		}
+
+		@Override
+		public void onConfigurationChanged(Configuration newConfig) {
+			// Not interested in configuration changes
+		}
+	}
+}
@@ -0,0 +1,732 @@
+package com.paginate.source;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.paginate.Cancellable;
+import com.paginate.recycler.retro.RetroRecyclerPaginate;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pagination callbacks that load pages from {@link PageSource} by themselves. Pages are loaded on the executor and
+ * results are delivered on the main thread through {@link Listener}, in page order. At most one request is in flight
+ * at the start. At the end, pages can be prefetched ahead of the load more requests (see {@link
+ * Builder#setPrefetchDepth(int)}). Use instance of this class as callbacks of any Paginate, in-flight requests are
+ * cancelled when Paginate is unbound.
+ * <p/>
+ * All methods need to be called on the main thread.
+ *
+ * @param <Key> type of the page key.
+ * @param <T>   type of the items.
+ */
+public final class PageLoader<Key, T> implements RetroRecyclerPaginate.RetroCallbacks,
+		RetroRecyclerPaginate.TrimListener, Cancellable {
+
+	public enum Direction {
+		/** Pages loaded before the first loaded page. */
+		START,
+		/** Pages loaded after the last loaded page (including the initial page). */
+		END
+	}
+
+	/** Listener that is notified on the main thread about loaded pages. */
+	public interface Listener<Key, T> {
+
+		/**
+		 * Called when page is loaded. Items need to be added to the start/end of the adapter data.
+		 *
+		 * @param direction direction in which the page is loaded.
+		 * @param page      loaded page.
+		 */
+		void onPageLoaded(Direction direction, Page<Key, T> page);
+
+		/**
+		 * Called when page couldn't be loaded. Loading in the given direction won't be retried until {@link
+		 * PageLoader#retry()} is called.
+		 *
+		 * @param direction direction in which the page is loaded.
+		 * @param error     error thrown by the {@link PageSource}.
+		 */
+		void onPageLoadFailed(Direction direction, Throwable error);
+	}
+
+	/** Listener that is notified on the main thread when pages restored from {@link PageStore} are refreshed. */
+	public interface RestoreListener<Key, T> {
+
+		/**
+		 * Called when the initial page is loaded from the {@link PageSource} after pages were restored from the {@link
+		 * PageStore}. Restored items are outdated and need to be replaced with items of the given page.
+		 *
+		 * @param page fresh initial page.
+		 */
+		void onRestoredPagesRefreshed(Page<Key, T> page);
+	}
+
+	private static ExecutorService defaultExecutor;
+	private static ExecutorService storeExecutor;
+
+	private final PageSource<Key, T> pageSource;
+	private final Listener<Key, T> listener;
+	private final Executor executor;
+	private final PageCache<Key, T> pageCache;
+	private final PageStore<Key, T> pageStore;
+	private final int restorePageCount;
+	private final RestoreListener<Key, T> restoreListener;
+	private final Key initialKey;
+	private final int prefetchDepth;
+	private final int maxConcurrentLoads;
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+	// Requests at the end in page order, either in flight or finished and waiting to be delivered
+	private final LinkedList<LoadTask> endTasks = new LinkedList<>();
+	private int endTasksInFlight;
+	private boolean endPageRequested;
+	private Key endRequestKey;
+	private boolean endRequestKeyKnown = true;
+	private LoadTask startTask;
+	private FutureTask<List<Page<Key, T>>> restoreTask;
+	private LoadTask refreshTask;
+	private boolean restoreFinished;
+	private boolean endDeliveryPosted;
+
+	// Bounds of the pages currently in the adapter data, in page order, used to rewind keys when pages are trimmed
+	private final LinkedList<PageBounds<Key>> loadedPages = new LinkedList<>();
+
+	private final boolean[] failed = new boolean[Direction.values().length];
+	private boolean initialPageLoaded;
+	private Key previousKey;
+	private Key nextKey;
+
+	private PageLoader(PageSource<Key, T> pageSource,
+	                   Key initialKey,
+	                   Listener<Key, T> listener,
+	                   Executor executor,
+	                   PageCache<Key, T> pageCache,
+	                   PageStore<Key, T> pageStore,
+	                   int restorePageCount,
+	                   RestoreListener<Key, T> restoreListener,
+	                   int prefetchDepth,
+	                   int maxConcurrentLoads) {
+		this.pageSource = pageSource;
+		this.listener = listener;
+		this.executor = executor;
+		this.pageCache = pageCache;
+		this.pageStore = pageStore;
+		this.restorePageCount = restorePageCount;
+		this.restoreListener = restoreListener;
+		this.restoreFinished = pageStore == null;
+		this.initialKey = initialKey;
+		this.prefetchDepth = prefetchDepth;
+		this.maxConcurrentLoads = maxConcurrentLoads;
+		this.nextKey = initialKey;
+		this.endRequestKey = initialKey;
+	}
+
+	@Override
+	public void onLoadMore() {
+		if (failed[Direction.END.ordinal()] || hasLoadedAllItems()) {
+			return;
+		}
+		endPageRequested = true;
+		if (!restoreFinished) {
+			restore();
+			return;
+		}
+		if (refreshTask != null) {
+			return; // Continue once restored pages are refreshed
+		}
+		requestEndPages();
+		postEndDelivery();
+	}
+
+	@Override
+	public boolean isLoading() {
+		return endPageRequested;
+	}
+
+	@Override
+	public boolean hasLoadedAllItems() {
+		return initialPageLoaded && nextKey == null;
+	}
+
+	@Override
+	public void onLoadMoreFromStart() {
+		if (startTask != null || refreshTask != null || failed[Direction.START.ordinal()]
+				|| hasLoadedAllItemsFromStart()) {
+			return;
+		}
+		startTask = new LoadTask(Direction.START, previousKey, false);
+		startTask.start();
+	}
+
+	@Override
+	public boolean isLoadingFromStart() {
+		return startTask != null;
+	}
+
+	@Override
+	public boolean hasLoadedAllItemsFromStart() {
+		// Nothing can be loaded from start until the initial page provides its previous key
+		return !initialPageLoaded || previousKey == null;
+	}
+
+	/** Retry loading in directions in which the last load has failed. */
+	public void retry() {
+		if (failed[Direction.END.ordinal()]) {
+			failed[Direction.END.ordinal()] = false;
+			onLoadMore();
+		}
+		if (failed[Direction.START.ordinal()]) {
+			failed[Direction.START.ordinal()] = false;
+			onLoadMoreFromStart();
+		}
+	}
+
+	/**
+	 * Move the previous key back to the first page trimmed from the start, so that trimmed pages are loaded again.
+	 * Items need to be trimmed in whole pages, items of partially trimmed page are considered loaded.
+	 */
+	@Override
+	public void onTrimmedStart(int itemCount) {
+		int remaining = itemCount;
+		boolean trimmed = false;
+		while (loadedPages.size() > 1 && loadedPages.getFirst().itemCount <= remaining) {
+			remaining -= loadedPages.removeFirst().itemCount;
+			trimmed = true;
+		}
+		if (trimmed) {
+			if (startTask != null) {
+				startTask.cancel(true); // Page before the trimmed pages
+				startTask = null;
+			}
+			failed[Direction.START.ordinal()] = false;
+			previousKey = loadedPages.getFirst().previousKey;
+		}
+	}
+
+	/**
+	 * Move the next key back to the first page trimmed from the end, so that trimmed pages are loaded again. Items
+	 * need to be trimmed in whole pages, items of partially trimmed page are considered loaded.
+	 */
+	@Override
+	public void onTrimmedEnd(int itemCount) {
+		int remaining = itemCount;
+		boolean trimmed = false;
+		while (loadedPages.size() > 1 && loadedPages.getLast().itemCount <= remaining) {
+			remaining -= loadedPages.removeLast().itemCount;
+			trimmed = true;
+		}
+		if (trimmed) {
+			failed[Direction.END.ordinal()] = false;
+			endPageRequested = false;
+			mainHandler.removeCallbacks(deliverEndPagesRunnable);
+			endDeliveryPosted = false;
+			nextKey = loadedPages.getLast().nextKey;
+			cancelEndTasks(); // Prefetched pages follow the trimmed pages
+		}
+	}
+
+	/** Cancel all in-flight requests and drop prefetched pages. Results of cancelled requests are never delivered. */
+	@Override
+	public void cancel() {
+		cancelEndTasks();
+		endPageRequested = false;
+		mainHandler.removeCallbacks(deliverEndPagesRunnable);
+		endDeliveryPosted = false;
+		if (startTask != null) {
+			startTask.cancel(true);
+			startTask = null;
+		}
+		if (restoreTask != null) {
+			restoreTask.cancel(true);
+			restoreTask = null;
+		}
+		if (refreshTask != null) {
+			refreshTask.cancel(true);
+			refreshTask = null;
+		}
+	}
+
+	/** Read the last stored pages in order to display them before the initial page is loaded. */
+	private void restore() {
+		if (restoreTask != null) {
+			return;
+		}
+		restoreTask = new FutureTask<List<Page<Key, T>>>(new Callable<List<Page<Key, T>>>() {
+			@Override
+			public List<Page<Key, T>> call() throws Exception {
+				return pageStore.readLast(restorePageCount);
+			}
+		}) {
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					return;
+				}
+				final FutureTask<List<Page<Key, T>>> task = this;
+				mainHandler.post(new Runnable() {
+					@Override
+					public void run() {
+						onRestoreFinished(task);
+					}
+				});
+			}
+		};
+		getStoreExecutor().execute(restoreTask);
+	}
+
+	private void onRestoreFinished(FutureTask<List<Page<Key, T>>> task) {
+		if (restoreTask != task) {
+			return; // Cancelled
+		}
+		restoreTask = null;
+		restoreFinished = true;
+
+		List<Page<Key, T>> pages;
+		try {
+			pages = task.get();
+		} catch (Exception e) {
+			pages = Collections.emptyList(); // Store is best effort, continue with loading from the source
+		}
+
+		if (pages.isEmpty()) {
+			if (endPageRequested) {
+				deliverEndPages();
+				requestEndPages();
+			}
+			return;
+		}
+
+		initialPageLoaded = true;
+		previousKey = pages.get(0).getPreviousKey();
+		nextKey = pages.get(pages.size() - 1).getNextKey();
+		endRequestKey = nextKey;
+		endRequestKeyKnown = true;
+		endPageRequested = false;
+		loadedPages.clear();
+		for (Page<Key, T> page : pages) {
+			loadedPages.addLast(new PageBounds<>(page));
+		}
+
+		if (restoreListener != null) {
+			// Refresh restored content in the background, without listener it is only continued
+			refreshTask = new LoadTask(Direction.END, initialKey, true);
+			refreshTask.start();
+		}
+
+		for (Page<Key, T> page : pages) {
+			listener.onPageLoaded(Direction.END, page);
+		}
+	}
+
+	private void onRefreshFinished(LoadTask task) {
+		if (refreshTask != task) {
+			return; // Cancelled
+		}
+		refreshTask = null;
+
+		try {
+			final Page<Key, T> page = task.get();
+			previousKey = page.getPreviousKey();
+			nextKey = page.getNextKey();
+			endRequestKey = nextKey;
+			endRequestKeyKnown = true;
+			loadedPages.clear(); // Restored items are replaced with the fresh page
+			loadedPages.addLast(new PageBounds<>(page));
+			getStoreExecutor().execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						pageStore.clear();
+						pageStore.append(page);
+					} catch (IOException e) {
+						// Store is best effort
+					}
+				}
+			});
+			restoreListener.onRestoredPagesRefreshed(page);
+		} catch (ExecutionException e) {
+			// Restored content stays, pagination continues from the last restored page
+			listener.onPageLoadFailed(Direction.END, e.getCause());
+		} catch (InterruptedException e) {
+			return;
+		}
+
+		if (endPageRequested) {
+			deliverEndPages();
+			requestEndPages();
+		}
+	}
+
+	/** Append delivered page to the store. Pages are appended on a single thread, in order of delivery. */
+	private void storePage(final Page<Key, T> page) {
+		if (pageStore == null) {
+			return;
+		}
+		getStoreExecutor().execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					pageStore.append(page);
+				} catch (IOException e) {
+					// Store is best effort
+				}
+			}
+		});
+	}
+
+	/** Start new requests at the end while prefetch depth and concurrency limit allow it. */
+	private void requestEndPages() {
+		int targetCount = prefetchDepth + (endPageRequested ? 1 : 0);
+		while (endTasks.size() < targetCount && endTasksInFlight < maxConcurrentLoads && endRequestKeyKnown
+				&& endRequestKey != null) {
+			LoadTask task = new LoadTask(Direction.END, endRequestKey, false);
+			endTasks.addLast(task);
+			endTasksInFlight++;
+
+			if (pageSource instanceof SequentialPageSource) {
+				endRequestKey = ((SequentialPageSource<Key, T>) pageSource).getKeyAfter(endRequestKey);
+			} else {
+				// Key of the next page is known only once this page is loaded
+				endRequestKeyKnown = false;
+			}
+			task.start();
+		}
+	}
+
+	/**
+	 * Deliver prefetched page on the next main thread message. Load more is requested from scroll and adapter
+	 * callbacks, in which the adapter can't be modified, so pages are never delivered on the stack that requested them.
+	 */
+	private void postEndDelivery() {
+		if (!endDeliveryPosted && !endTasks.isEmpty() && endTasks.getFirst().isDone()) {
+			endDeliveryPosted = true;
+			mainHandler.post(deliverEndPagesRunnable);
+		}
+	}
+
+	private final Runnable deliverEndPagesRunnable = new Runnable() {
+		@Override
+		public void run() {
+			endDeliveryPosted = false;
+			deliverEndPages();
+			requestEndPages();
+		}
+	};
+
+	/** Deliver finished pages at the end in page order, one page per load more request. */
+	private void deliverEndPages() {
+		while (endPageRequested && !endTasks.isEmpty() && endTasks.getFirst().isDone()) {
+			LoadTask task = endTasks.removeFirst();
+			endPageRequested = false;
+
+			Page<Key, T> page;
+			try {
+				page = task.get();
+			} catch (ExecutionException e) {
+				// Pages after the failed one can't be delivered in order
+				cancelEndTasks();
+				failed[Direction.END.ordinal()] = true;
+				listener.onPageLoadFailed(Direction.END, e.getCause());
+				return;
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			nextKey = page.getNextKey();
+			if (!initialPageLoaded) {
+				initialPageLoaded = true;
+				previousKey = page.getPreviousKey();
+			}
+			if (nextKey == null) {
+				cancelEndTasks(); // Pages requested past the last page
+			}
+			storePage(page);
+			loadedPages.addLast(new PageBounds<>(page));
+			listener.onPageLoaded(Direction.END, page);
+		}
+	}
+
+	private void cancelEndTasks() {
+		for (LoadTask task : endTasks) {
+			task.cancel(true);
+		}
+		endTasks.clear();
+		endTasksInFlight = 0;
+		endRequestKey = nextKey;
+		endRequestKeyKnown = true;
+	}
+
+	private void onLoadFinished(LoadTask task) {
+		if (task.refresh) {
+			onRefreshFinished(task);
+			return;
+		}
+		if (task.direction == Direction.START) {
+			onStartLoadFinished(task);
+			return;
+		}
+
+		if (!endTasks.contains(task)) {
+			return; // Cancelled
+		}
+		endTasksInFlight--;
+
+		if (!endRequestKeyKnown && task == endTasks.getLast()) {
+			try {
+				endRequestKey = task.get().getNextKey();
+				endRequestKeyKnown = true;
+			} catch (Exception e) {
+				// Failure is reported once the page is about to be delivered
+			}
+		}
+
+		deliverEndPages();
+		requestEndPages();
+	}
+
+	private void onStartLoadFinished(LoadTask task) {
+		if (startTask != task) {
+			return; // Cancelled
+		}
+		startTask = null;
+
+		Page<Key, T> page;
+		try {
+			page = task.get();
+		} catch (CancellationException e) {
+			return;
+		} catch (InterruptedException e) {
+			return;
+		} catch (ExecutionException e) {
+			failed[Direction.START.ordinal()] = true;
+			listener.onPageLoadFailed(Direction.START, e.getCause());
+			return;
+		}
+
+		previousKey = page.getPreviousKey();
+		loadedPages.addFirst(new PageBounds<>(page));
+		listener.onPageLoaded(Direction.START, page);
+	}
+
+	private static synchronized Executor getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			defaultExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "PageLoader #" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+
+	private static synchronized Executor getStoreExecutor() {
+		if (storeExecutor == null) {
+			storeExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "PageStore");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return storeExecutor;
+	}
+
+	/** Keys around the page and its item count, kept without items for the pages in the adapter data. */
+	private static class PageBounds<Key> {
+
+		private final Key previousKey;
+		private final Key nextKey;
+		private final int itemCount;
+
+		PageBounds(Page<Key, ?> page) {
+			this.previousKey = page.getPreviousKey();
+			this.nextKey = page.getNextKey();
+			this.itemCount = page.getItems().size();
+		}
+	}
+
+	private class LoadTask extends FutureTask<Page<Key, T>> {
+
+		private final Direction direction;
+		private final boolean refresh;
+		private final boolean cached;
+
+		/**
+		 * @param refresh true if page needs to be loaded from the source even if it is cached, used to refresh pages
+		 *                restored from the store.
+		 */
+		LoadTask(Direction direction, Key key, boolean refresh) {
+			this(direction, key, refresh, pageCache != null && !refresh ? pageCache.get(key) : null);
+		}
+
+		private LoadTask(Direction direction, final Key key, boolean refresh, final Page<Key, T> cachedPage) {
+			super(new Callable<Page<Key, T>>() {
+				@Override
+				public Page<Key, T> call() throws Exception {
+					if (cachedPage != null) {
+						return cachedPage;
+					}
+					Page<Key, T> page = pageSource.loadPage(key);
+					if (pageCache != null) {
+						pageCache.put(page);
+					}
+					return page;
+				}
+			});
+			this.direction = direction;
+			this.refresh = refresh;
+			this.cached = cachedPage != null;
+		}
+
+		void start() {
+			if (cached) {
+				run(); // Served from memory, no need to go through the executor
+			} else {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled()) {
+				return;
+			}
+			mainHandler.post(new Runnable() {
+				@Override
+				public void run() {
+					onLoadFinished(LoadTask.this);
+				}
+			});
+		}
+	}
+
+	public static class Builder<Key, T> {
+
+		private final PageSource<Key, T> pageSource;
+		private final Key initialKey;
+		private final Listener<Key, T> listener;
+		private Executor executor;
+		private PageCache<Key, T> pageCache;
+		private PageStore<Key, T> pageStore;
+		private int restorePageCount;
+		private RestoreListener<Key, T> restoreListener;
+		private int prefetchDepth = 0;
+		private int maxConcurrentLoads = 1;
+
+		/**
+		 * @param pageSource source of the pages.
+		 * @param initialKey key of the first page that will be loaded.
+		 * @param listener   listener that will be notified about loaded pages.
+		 */
+		public Builder(PageSource<Key, T> pageSource, Key initialKey, Listener<Key, T> listener) {
+			this.pageSource = pageSource;
+			this.initialKey = initialKey;
+			this.listener = listener;
+		}
+
+		/**
+		 * Set the executor on which pages are loaded. By default shared background thread pool is used.
+		 *
+		 * @param executor executor that will run {@link PageSource#loadPage(Object)}.
+		 * @return {@link com.paginate.source.PageLoader.Builder}
+		 */
+		public Builder<Key, T> setExecutor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Set the cache of loaded pages. Pages found in the cache are delivered without calling {@link PageSource} and
+		 * every page loaded from the source is put in the cache. Share the cache between loaders of the same list so
+		 * that revisiting the list is served from memory. No cache is used by default.
+		 *
+		 * @param pageCache cache of pages.
+		 * @return {@link com.paginate.source.PageLoader.Builder}
+		 */
+		public Builder<Key, T> setPageCache(PageCache<Key, T> pageCache) {
+			this.pageCache = pageCache;
+			return this;
+		}
+
+		/**
+		 * Set the persistent store of the last loaded pages. Before the initial page is loaded, the last stored pages
+		 * are read from the store and delivered right away. If restore listener is set, the initial page is then loaded
+		 * in the background and delivered through {@link RestoreListener} so that outdated restored content can be
+		 * replaced, otherwise loading continues after the last restored page. Pages delivered at the end are appended
+		 * to the store. No store is used by default.
+		 *
+		 * @param pageStore        store of the pages, one store per list.
+		 * @param restorePageCount maximum number of pages restored from the store.
+		 * @param restoreListener  listener that is notified when restored pages are refreshed, or null if restored
+		 *                         content is only continued and never replaced.
+		 * @return {@link com.paginate.source.PageLoader.Builder}
+		 */
+		public Builder<Key, T> setPageStore(PageStore<Key, T> pageStore, int restorePageCount,
+		                                    RestoreListener<Key, T> restoreListener) {
+			this.pageStore = pageStore;
+			this.restorePageCount = restorePageCount;
+			this.restoreListener = restoreListener;
+			return this;
+		}
+
+		/**
+		 * Set the number of pages that are kept loading or loaded ahead of the load more requests at the end.
+		 * Prefetched pages are delivered, in page order, when Paginate asks for more data. Default depth is 0 (pages
+		 * are loaded only when requested).
+		 *
+		 * @param prefetchDepth number of pages to prefetch.
+		 * @return {@link com.paginate.source.PageLoader.Builder}
+		 */
+		public Builder<Key, T> setPrefetchDepth(int prefetchDepth) {
+			this.prefetchDepth = Math.max(0, prefetchDepth);
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of pages at the end that are loaded at the same time. More than one page can be loaded
+		 * concurrently only if page source implements {@link SequentialPageSource}, otherwise the key of the next page
+		 * is known only when the previous page is loaded. Default is 1.
+		 *
+		 * @param maxConcurrentLoads maximum number of concurrent loads.
+		 * @return {@link com.paginate.source.PageLoader.Builder}
+		 */
+		public Builder<Key, T> setMaxConcurrentLoads(int maxConcurrentLoads) {
+			this.maxConcurrentLoads = Math.max(1, maxConcurrentLoads);
+			return this;
+		}
+
+		/**
+		 * Create page loader.
+		 *
+		 * @return {@link PageLoader} instance that can be used as Paginate callbacks.
+		 */
+		public PageLoader<Key, T> build() {
+			if (executor == null) {
+				executor = getDefaultExecutor();
+			}
+			return new PageLoader<>(pageSource, initialKey, listener, executor, pageCache, pageStore,
+					restorePageCount, restoreListener, prefetchDepth, maxConcurrentLoads);
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.paginate.source;
+
+/**
+ * Source of pages that is driven by {@link PageLoader}. Each page is identified by a key (page number, offset, cursor,
+ * ...) and every loaded page provides keys of its neighbouring pages.
+ *
+ * @param <Key> type of the page key.
+ * @param <T>   type of the items.
+ */
+public interface PageSource<Key, T> {
+
+	/**
+	 * Load the page for the given key. Called on the {@link PageLoader} executor thread, so blocking (network, disk)
+	 * calls are allowed.
+	 *
+	 * @param key key of the page to load.
+	 * @return loaded page.
+	 * @throws Exception if page couldn't be loaded, it will be delivered to {@link PageLoader.Listener}.
+	 */
+	Page<Key, T> loadPage(Key key) throws Exception;
+}
@@ -0,0 +1,218 @@
+package com.paginate.source;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistent store of the last loaded pages of a single list, used by {@link PageLoader} to display content right
+ * away on cold start. Pages are kept in an append-only file, each record prefixed by its length, and record offsets are
+ * indexed in memory when the store is first used. Records are read through memory-mapped buffer. Once the file holds
+ * twice the max page count, it is compacted to the last max page count pages.
+ * <p/>
+ * This class is thread safe. Methods perform disk I/O and should not be called on the main thread.
+ *
+ * @param <Key> type of the page key.
+ * @param <T>   type of the items.
+ */
+public final class PageStore<Key, T> {
+
+	/** Converts pages to bytes and back. Format of the page is up to the serializer. */
+	public interface Serializer<Key, T> {
+
+		void writePage(Page<Key, T> page, DataOutput output) throws IOException;
+
+		Page<Key, T> readPage(DataInput input) throws IOException;
+	}
+
+	private static final int LENGTH_SIZE = 4;
+
+	private final File file;
+	private final Serializer<Key, T> serializer;
+	private final int maxPageCount;
+
+	// Offsets of records (their length prefix) in the file, in order of appending
+	private long[] offsets;
+	private int pageCount;
+	private long fileLength;
+
+	/**
+	 * @param file         file that will hold the pages of the list, one file per list.
+	 * @param serializer   serializer of the pages.
+	 * @param maxPageCount maximum number of pages that need to be restored.
+	 */
+	public PageStore(File file, Serializer<Key, T> serializer, int maxPageCount) {
+		if (maxPageCount <= 0) {
+			throw new IllegalArgumentException("maxPageCount needs to be positive");
+		}
+		this.file = file;
+		this.serializer = serializer;
+		this.maxPageCount = maxPageCount;
+	}
+
+	/**
+	 * Append the page at the end of the store.
+	 *
+	 * @param page page to store.
+	 * @throws IOException if page couldn't be written.
+	 */
+	public synchronized void append(Page<Key, T> page) throws IOException {
+		ensureIndex();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(0); // Length placeholder
+		serializer.writePage(page, output);
+		output.flush();
+		byte[] record = bytes.toByteArray();
+		int length = record.length - LENGTH_SIZE;
+		record[0] = (byte) (length >>> 24);
+		record[1] = (byte) (length >>> 16);
+		record[2] = (byte) (length >>> 8);
+		record[3] = (byte) length;
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.seek(fileLength);
+			randomAccessFile.write(record);
+		} finally {
+			randomAccessFile.close();
+		}
+		addOffset(fileLength);
+		fileLength += record.length;
+
+		if (pageCount >= 2 * maxPageCount) {
+			compact();
+		}
+	}
+
+	/**
+	 * Read the last stored pages, in order of appending.
+	 *
+	 * @param count maximum number of pages to read.
+	 * @return list of pages, empty if nothing is stored.
+	 * @throws IOException if pages couldn't be read.
+	 */
+	public synchronized List<Page<Key, T>> readLast(int count) throws IOException {
+		ensureIndex();
+
+		int first = Math.max(0, pageCount - Math.min(count, maxPageCount));
+		List<Page<Key, T>> pages = new ArrayList<>(pageCount - first);
+		if (first == pageCount) {
+			return pages;
+		}
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			long start = offsets[first];
+			MappedByteBuffer buffer = randomAccessFile.getChannel()
+					.map(FileChannel.MapMode.READ_ONLY, start, fileLength - start);
+			for (int i = first; i < pageCount; i++) {
+				buffer.position((int) (offsets[i] - start));
+				byte[] record = new byte[buffer.getInt()];
+				buffer.get(record);
+				pages.add(serializer.readPage(new DataInputStream(new ByteArrayInputStream(record))));
+			}
+		} finally {
+			randomAccessFile.close();
+		}
+		return pages;
+	}
+
+	/**
+	 * Remove all stored pages.
+	 *
+	 * @throws IOException if file couldn't be deleted.
+	 */
+	public synchronized void clear() throws IOException {
+		if (file.exists() && !file.delete()) {
+			throw new IOException("Unable to delete " + file);
+		}
+		offsets = new long[maxPageCount];
+		pageCount = 0;
+		fileLength = 0;
+	}
+
+	/** Build offset index by walking length prefixes. Incomplete trailing record (e.g. after crash) is dropped. */
+	private void ensureIndex() throws IOException {
+		if (offsets != null) {
+			return;
+		}
+		offsets = new long[maxPageCount];
+		pageCount = 0;
+		fileLength = 0;
+		if (!file.exists()) {
+			return;
+		}
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			long length = randomAccessFile.length();
+			long offset = 0;
+			while (offset + LENGTH_SIZE <= length) {
+				randomAccessFile.seek(offset);
+				int recordLength = randomAccessFile.readInt();
+				long next = offset + LENGTH_SIZE + recordLength;
+				if (recordLength < 0 || next > length) {
+					break;
+				}
+				addOffset(offset);
+				offset = next;
+			}
+			if (offset != length) {
+				randomAccessFile.setLength(offset);
+			}
+			fileLength = offset;
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private void addOffset(long offset) {
+		if (pageCount == offsets.length) {
+			long[] grown = new long[pageCount * 2];
+			System.arraycopy(offsets, 0, grown, 0, pageCount);
+			offsets = grown;
+		}
+		offsets[pageCount++] = offset;
+	}
+
+	/** Rewrite the file so that it holds only the last max page count pages. */
+	private void compact() throws IOException {
+		int first = pageCount - maxPageCount;
+		long start = offsets[first];
+		File tempFile = new File(file.getPath() + ".tmp");
+
+		RandomAccessFile source = new RandomAccessFile(file, "r");
+		RandomAccessFile target = new RandomAccessFile(tempFile, "rw");
+		try {
+			target.setLength(0);
+			long position = start;
+			while (position < fileLength) {
+				position += source.getChannel().transferTo(position, fileLength - position, target.getChannel());
+			}
+		} finally {
+			source.close();
+			target.close();
+		}
+		if (!tempFile.renameTo(file)) {
+			throw new IOException("Unable to replace " + file);
+		}
+
+		for (int i = first; i < pageCount; i++) {
+			offsets[i - first] = offsets[i] - start;
+		}
+		pageCount = maxPageCount;
+		fileLength -= start;
+	}
+}
@@ -0,0 +1,20 @@
+package com.paginate.source;
+
+/**
+ * {@link PageSource} whose page keys can be calculated without loading the page (e.g. page numbers or offsets). This
+ * allows {@link PageLoader} to load several pages ahead concurrently.
+ *
+ * @param <Key> type of the page key.
+ * @param <T>   type of the items.
+ */
+public interface SequentialPageSource<Key, T> extends PageSource<Key, T> {
+
+	/**
+	 * Called on the main thread.
+	 *
+	 * @param key key of the page.
+	 * @return key of the page that follows the page with given key. Loading of the pages stops at the first page whose
+	 * {@link Page#getNextKey()} is null, so the returned key might point past the last page.
+	 */
+	Key getKeyAfter(Key key);
+}
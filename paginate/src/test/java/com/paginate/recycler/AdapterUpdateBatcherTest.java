@@ -0,0 +1,194 @@
+package com.paginate.recycler;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class AdapterUpdateBatcherTest {
+
+	private final TestAdapter adapter = new TestAdapter();
+	private final List<String> notifications = new ArrayList<>();
+	private WrapperAdapter wrapperAdapter;
+	private AdapterUpdateBatcher batcher;
+	private int dispatchedBatches;
+
+	@Before
+	public void setUp() {
+		ShadowLooper.pauseMainLooper();
+		adapter.itemCount = 10;
+		wrapperAdapter = new WrapperAdapter(adapter, LoadingListItemCreator.DEFAULT);
+		wrapperAdapter.registerAdapterDataObserver(new RecordingObserver());
+		batcher = new AdapterUpdateBatcher(wrapperAdapter, new Runnable() {
+			@Override
+			public void run() {
+				dispatchedBatches++;
+			}
+		});
+	}
+
+	@Test
+	public void forwardsInsertsAndRemovalsRightAway() {
+		adapter.itemCount = 13;
+		batcher.onItemRangeInserted(10, 3);
+		adapter.itemCount = 12;
+		batcher.onItemRangeRemoved(0, 1);
+
+		assertEquals(Arrays.asList("insert 10 3", "remove 0 1"), notifications);
+		assertEquals(13, wrapperAdapter.getItemCount());
+		assertEquals(0, dispatchedBatches);
+
+		ShadowLooper.runUiThreadTasks();
+		assertEquals(1, dispatchedBatches);
+	}
+
+	@Test
+	public void bindsWithinWrappedDataWhileBatchIsPending() {
+		adapter.itemCount = 6;
+		batcher.onItemRangeRemoved(6, 4);
+		layOut();
+
+		adapter.itemCount = 9;
+		batcher.onItemRangeInserted(0, 3);
+		layOut();
+
+		batcher.onItemRangeChanged(2, 2, null);
+		layOut();
+
+		assertEquals(Arrays.asList("remove 6 4", "insert 0 3"), notifications);
+		batcher.flush();
+		assertEquals(Arrays.asList("remove 6 4", "insert 0 3", "change 2 2"), notifications);
+	}
+
+	@Test
+	public void mergesOverlappingChangesWithSamePayload() {
+		Object payload = new Object();
+		batcher.onItemRangeChanged(2, 3, payload);
+		batcher.onItemRangeChanged(4, 3, payload);
+		batcher.onItemRangeChanged(0, 2, payload);
+		assertTrue(notifications.isEmpty());
+
+		batcher.onItemRangeChanged(7, 1, null);
+		batcher.flush();
+
+		assertEquals(Arrays.asList("change 0 7", "change 7 1"), notifications);
+		assertEquals(1, dispatchedBatches);
+	}
+
+	@Test
+	public void dispatchesPendingChangeBeforeStructuralUpdate() {
+		batcher.onItemRangeChanged(4, 2, null);
+		adapter.itemCount = 11;
+		batcher.onItemRangeInserted(0, 1);
+		batcher.onItemRangeChanged(6, 1, null);
+		batcher.onItemRangeMoved(2, 4);
+		batcher.flush();
+
+		assertEquals(Arrays.asList("change 4 2", "insert 0 1", "change 6 1", "move 2 4"), notifications);
+		assertEquals(1, dispatchedBatches);
+	}
+
+	@Test
+	public void dataSetChangeSupersedesPendingChanges() {
+		batcher.onItemRangeChanged(2, 2, null);
+		adapter.itemCount = 12;
+		batcher.onChanged();
+		batcher.flush();
+
+		assertEquals(Collections.singletonList("changed"), notifications);
+		assertEquals(13, wrapperAdapter.getItemCount());
+	}
+
+	@Test
+	public void cancelDropsPendingChanges() {
+		batcher.onItemRangeChanged(2, 2, null);
+		batcher.cancel();
+		ShadowLooper.runUiThreadTasks();
+
+		assertTrue(notifications.isEmpty());
+		assertEquals(0, dispatchedBatches);
+	}
+
+	/** Bind every row the wrapper adapter reports, as layout running before the batch is closed would. */
+	private void layOut() {
+		for (int position = 0; position < wrapperAdapter.getItemCount(); position++) {
+			wrapperAdapter.getItemViewType(position);
+			wrapperAdapter.onBindViewHolder(null, position);
+		}
+	}
+
+	private static class TestAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+		private int itemCount;
+
+		@Override
+		public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+			checkPosition(position);
+		}
+
+		@Override
+		public int getItemViewType(int position) {
+			checkPosition(position);
+			return 0;
+		}
+
+		@Override
+		public int getItemCount() {
+			return itemCount;
+		}
+
+		private void checkPosition(int position) {
+			if (position < 0 || position >= itemCount) {
+				throw new IndexOutOfBoundsException("Position " + position + ", item count " + itemCount);
+			}
+		}
+	}
+
+	private class RecordingObserver extends RecyclerView.AdapterDataObserver {
+
+		@Override
+		public void onChanged() {
+			notifications.add("changed");
+		}
+
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			notifications.add("insert " + positionStart + " " + itemCount);
+		}
+
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			notifications.add("remove " + positionStart + " " + itemCount);
+		}
+
+		@Override
+		public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+			notifications.add("change " + positionStart + " " + itemCount);
+		}
+
+		@Override
+		public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+			notifications.add("move " + fromPosition + " " + toPosition);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.paginate.recycler;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoadingPositionsTest {
+
+	private final LoadingPositions positions = new LoadingPositions();
+
+	@Test
+	public void mapsPositionsAroundLoadingRows() {
+		positions.add(2);
+		positions.add(5);
+
+		assertEquals(0, positions.toWrapperPosition(0));
+		assertEquals(1, positions.toWrapperPosition(1));
+		assertEquals(3, positions.toWrapperPosition(2));
+		assertEquals(4, positions.toWrapperPosition(3));
+		assertEquals(6, positions.toWrapperPosition(4));
+
+		assertEquals(1, positions.toWrappedPosition(1));
+		assertEquals(2, positions.toWrappedPosition(3));
+		assertEquals(4, positions.toWrappedPosition(6));
+	}
+
+	@Test
+	public void mappingRoundTrips() {
+		int[] rows = {0, 1, 4, 7, 8, 12};
+		for (int row : rows) {
+			positions.add(row);
+		}
+
+		for (int wrappedPosition = 0; wrappedPosition < 20; wrappedPosition++) {
+			int position = positions.toWrapperPosition(wrappedPosition);
+			assertFalse(positions.contains(position));
+			assertEquals(wrappedPosition, positions.toWrappedPosition(position));
+		}
+	}
+
+	@Test
+	public void addAndRemoveReportChanges() {
+		assertTrue(positions.add(3));
+		assertFalse(positions.add(3));
+		assertTrue(positions.contains(3));
+		assertEquals(1, positions.size());
+
+		assertFalse(positions.remove(4));
+		assertTrue(positions.remove(3));
+		assertFalse(positions.contains(3));
+		assertEquals(0, positions.size());
+	}
+
+	@Test
+	public void serialStaysWithRow() {
+		positions.add(5);
+		int serial = positions.serialOf(5);
+		positions.add(2);
+		positions.add(9);
+
+		assertEquals(serial, positions.serialOf(5));
+		assertNotEquals(serial, positions.serialOf(2));
+		assertNotEquals(positions.serialOf(2), positions.serialOf(9));
+		assertEquals(-1, positions.serialOf(3));
+
+		positions.remove(2);
+		assertEquals(serial, positions.serialOf(5));
+
+		// Row added again at the same position is a new row
+		positions.remove(5);
+		positions.add(5);
+		assertNotEquals(serial, positions.serialOf(5));
+	}
+
+	@Test
+	public void growsBeyondInitialCapacity() {
+		for (int position = 19; position >= 0; position -= 2) {
+			positions.add(position);
+		}
+
+		assertEquals(10, positions.size());
+		for (int position = 0; position < 20; position++) {
+			assertEquals(position % 2 == 1, positions.contains(position));
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.paginate.recycler;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class WrapperSpanSizeLookupTest {
+
+	private static final int PAGE_SIZE = 4;
+	private static final int LOADING_SPAN = 3;
+
+	private WrapperAdapter wrapperAdapter;
+	private WrapperSpanSizeLookup spanSizeLookup;
+
+	@Before
+	public void setUp() {
+		wrapperAdapter = new WrapperAdapter(new TestAdapter(), LoadingListItemCreator.DEFAULT);
+		wrapperAdapter.setPlaceholders(PAGE_SIZE, new PlaceholderCallbacks() {
+			@Override
+			public void onLoadPage(int page) {
+			}
+
+			@Override
+			public boolean isPageLoading(int page) {
+				return false;
+			}
+
+			@Override
+			public boolean isPageLoaded(int page) {
+				return page == 0;
+			}
+		});
+		// Span of the wrapped item identifies its position in the wrapped adapter
+		GridLayoutManager.SpanSizeLookup wrappedLookup = new GridLayoutManager.SpanSizeLookup() {
+			@Override
+			public int getSpanSize(int position) {
+				return position + 1;
+			}
+		};
+		spanSizeLookup = new WrapperSpanSizeLookup(wrappedLookup, new LoadingListItemSpanLookup() {
+			@Override
+			public int getSpanSize() {
+				return LOADING_SPAN;
+			}
+		}, wrapperAdapter);
+	}
+
+	@Test
+	public void itemsAfterDynamicLoadingRowUseWrappedPosition() {
+		wrapperAdapter.addLoadingItem(2);
+
+		assertEquals(1, spanSizeLookup.getSpanSize(0));
+		assertEquals(LOADING_SPAN, spanSizeLookup.getSpanSize(2));
+		assertEquals(3, spanSizeLookup.getSpanSize(3));
+		assertEquals(4, spanSizeLookup.getSpanSize(4));
+	}
+
+	@Test
+	public void placeholdersTakeSpanOfTheirItems() {
+		wrapperAdapter.addLoadingItem(2);
+
+		// Page 1 (wrapped positions 4-7) is not loaded
+		assertTrue(wrapperAdapter.isPlaceholder(5));
+		assertFalse(wrapperAdapter.isPlaceholder(4));
+		assertFalse(wrapperAdapter.isPlaceholder(2));
+		assertEquals(5, spanSizeLookup.getSpanSize(5));
+		assertEquals(8, spanSizeLookup.getSpanSize(8));
+	}
+
+	private static class TestAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+		@Override
+		public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getItemCount() {
+			return 2 * PAGE_SIZE;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.paginate.recycler.retro;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GapIndexTest {
+
+	private final GapIndex gaps = new GapIndex();
+
+	@Test
+	public void mapsPositionsAroundGaps() {
+		gaps.add(2, GapIndex.KIND_GAP);
+		gaps.add(5, GapIndex.KIND_GAP);
+
+		assertEquals(0, gaps.toWrapperPosition(0));
+		assertEquals(1, gaps.toWrapperPosition(1));
+		assertEquals(3, gaps.toWrapperPosition(2));
+		assertEquals(5, gaps.toWrapperPosition(4));
+		assertEquals(7, gaps.toWrapperPosition(5));
+
+		assertEquals(0, gaps.indexAtWrapperPosition(2));
+		assertEquals(1, gaps.indexAtWrapperPosition(6));
+		assertEquals(-1, gaps.indexAtWrapperPosition(3));
+		assertEquals(2, gaps.toPosition(3));
+		assertEquals(5, gaps.toPosition(7));
+		// Gap row maps to the item that follows it
+		assertEquals(2, gaps.toPosition(2));
+	}
+
+	@Test
+	public void mappingRoundTrips() {
+		int[] positions = {0, 0, 3, 4, 4, 4, 9, 10};
+		for (int position : positions) {
+			gaps.add(position, GapIndex.KIND_GAP);
+		}
+		int itemCount = 10;
+
+		for (int position = 0; position < itemCount; position++) {
+			int wrapperPosition = gaps.toWrapperPosition(position);
+			assertEquals(-1, gaps.indexAtWrapperPosition(wrapperPosition));
+			assertEquals(position, gaps.toPosition(wrapperPosition));
+		}
+		for (int index = 0; index < gaps.size(); index++) {
+			assertEquals(index, gaps.indexAtWrapperPosition(gaps.wrapperPositionAt(index)));
+			assertEquals(positions[index], gaps.positionAt(index));
+		}
+	}
+
+	@Test
+	public void insertAtGapPlacesItemsBeforeIt() {
+		gaps.add(3, GapIndex.KIND_GAP);
+
+		gaps.onItemRangeInserted(3, 2);
+		assertEquals(5, gaps.positionAt(0));
+
+		gaps.onItemRangeInserted(6, 4);
+		assertEquals(5, gaps.positionAt(0));
+
+		gaps.onItemRangeInserted(0, 1);
+		assertEquals(6, gaps.positionAt(0));
+	}
+
+	@Test
+	public void insertAtInternalStartRowPlacesItemsAfterIt() {
+		gaps.add(3, GapIndex.KIND_INTERNAL_START);
+		gaps.add(3, GapIndex.KIND_GAP);
+		assertEquals(GapIndex.KIND_INTERNAL_START, gaps.kindAt(0));
+
+		gaps.onItemRangeInserted(3, 2);
+		assertEquals(3, gaps.positionAt(0));
+		assertEquals(GapIndex.KIND_INTERNAL_START, gaps.kindAt(0));
+		assertEquals(5, gaps.positionAt(1));
+
+		gaps.onItemRangeInserted(1, 1);
+		assertEquals(4, gaps.positionAt(0));
+	}
+
+	@Test
+	public void removeShiftsGapsAfterRange() {
+		gaps.add(3, GapIndex.KIND_GAP);
+		gaps.add(8, GapIndex.KIND_GAP);
+
+		gaps.onItemRangeRemoved(5, 2);
+		assertEquals(3, gaps.positionAt(0));
+		assertEquals(6, gaps.positionAt(1));
+
+		gaps.onItemRangeRemoved(0, 2);
+		assertEquals(1, gaps.positionAt(0));
+		assertEquals(4, gaps.positionAt(1));
+	}
+
+	@Test
+	public void removeCollapsesGapsWithinRange() {
+		gaps.add(3, GapIndex.KIND_GAP);
+		gaps.add(5, GapIndex.KIND_GAP);
+		gaps.add(7, GapIndex.KIND_GAP);
+
+		gaps.onItemRangeRemoved(2, 5);
+
+		assertEquals(3, gaps.size());
+		assertEquals(2, gaps.positionAt(0));
+		assertEquals(2, gaps.positionAt(1));
+		assertEquals(2, gaps.positionAt(2));
+		assertEquals(2, gaps.wrapperPositionAt(0));
+		assertEquals(3, gaps.wrapperPositionAt(1));
+		assertEquals(4, gaps.wrapperPositionAt(2));
+		assertEquals(5, gaps.toWrapperPosition(2));
+	}
+
+	@Test
+	public void collapseKeepsInternalStartRowsFirst() {
+		gaps.add(4, GapIndex.KIND_GAP);
+		gaps.add(6, GapIndex.KIND_INTERNAL_START);
+
+		gaps.onItemRangeRemoved(3, 4);
+		assertEquals(GapIndex.KIND_INTERNAL_START, gaps.kindAt(0));
+		assertEquals(GapIndex.KIND_GAP, gaps.kindAt(1));
+
+		// Positions stay sorted when items are inserted at the collapsed position
+		gaps.onItemRangeInserted(3, 2);
+		assertEquals(3, gaps.positionAt(0));
+		assertEquals(5, gaps.positionAt(1));
+	}
+
+	@Test
+	public void idFollowsGapWhenItMoves() {
+		gaps.add(5, GapIndex.KIND_GAP);
+		int id = gaps.idAt(0);
+		gaps.add(2, GapIndex.KIND_GAP);
+
+		gaps.onItemRangeInserted(0, 3);
+		assertEquals(id, gaps.idAt(gaps.indexOf(8, GapIndex.KIND_GAP)));
+
+		gaps.removeAt(0);
+		assertEquals(id, gaps.idAt(0));
+	}
+
+	@Test
+	public void indexOfMatchesKind() {
+		gaps.add(4, GapIndex.KIND_GAP);
+		gaps.add(4, GapIndex.KIND_INTERNAL_END);
+
+		assertEquals(1, gaps.indexOf(4, GapIndex.KIND_INTERNAL_END));
+		assertEquals(0, gaps.indexOf(4, GapIndex.KIND_GAP));
+		assertEquals(-1, gaps.indexOf(4, GapIndex.KIND_INTERNAL_START));
+		assertEquals(-1, gaps.indexOf(5, GapIndex.KIND_GAP));
+	}
+
+	@Test
+	public void growsBeyondInitialCapacity() {
+		for (int position = 20; position > 0; position -= 2) {
+			gaps.add(position, GapIndex.KIND_GAP);
+		}
+
+		assertEquals(10, gaps.size());
+		for (int index = 0; index < gaps.size(); index++) {
+			assertEquals(2 * (index + 1), gaps.positionAt(index));
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package com.paginate.recycler.retro;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.paginate.recycler.LoadingListItemCreator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class RetroAdapterTest {
+
+	private final TestAdapter adapter = new TestAdapter();
+	private final List<String> notifications = new ArrayList<>();
+	private RetroAdapter retroAdapter;
+
+	@Before
+	public void setUp() {
+		adapter.itemCount = 10;
+		retroAdapter = new RetroAdapter(adapter, LoadingListItemCreator.DEFAULT);
+		retroAdapter.registerAdapterDataObserver(new RecordingObserver());
+	}
+
+	@Test
+	public void mapsPositionsAroundGaps() {
+		retroAdapter.displayStartLoadingRow(true);
+		retroAdapter.addGap(3);
+		retroAdapter.addGap(6);
+
+		// Start row, items 0-2, gap, items 3-5, gap, items 6-9
+		assertEquals(13, retroAdapter.getItemCount());
+		assertEquals(1, retroAdapter.getItemPositionFromAdapter(0));
+		assertEquals(5, retroAdapter.getItemPositionFromAdapter(3));
+		assertEquals(9, retroAdapter.getItemPositionFromAdapter(6));
+		assertTrue(retroAdapter.isLoadingRow(4));
+		assertTrue(retroAdapter.isLoadingRow(8));
+		assertFalse(retroAdapter.isLoadingRow(5));
+		assertEquals(3, retroAdapter.getItemPositionInAdapter(5));
+		assertEquals(4, retroAdapter.findGapFrom(2));
+		assertEquals(8, retroAdapter.findGapFrom(5));
+		assertEquals(-1, retroAdapter.findGapFrom(9));
+	}
+
+	@Test
+	public void internalRowAndItemAtSamePositionMapApart() {
+		retroAdapter.displayStartLoadingRow(true);
+		retroAdapter.displayInternalEndLoadingRow(4);
+
+		// Start row, items 0-3, internal end row, items 4-9
+		assertEquals(5, retroAdapter.getEndInternalLoadingRowPosition());
+		assertEquals(4, retroAdapter.getItemPositionFromAdapter(3));
+		assertEquals(6, retroAdapter.getItemPositionFromAdapter(4));
+		assertEquals(4, retroAdapter.getItemPositionInAdapter(6));
+		assertTrue(retroAdapter.isLoadingRow(5));
+		assertFalse(retroAdapter.isLoadingRow(6));
+	}
+
+	@Test
+	public void insertedItemsArePlacedBeforeGapAtTheirPosition() {
+		retroAdapter.addGap(2);
+		notifications.clear();
+
+		adapter.itemCount = 12;
+		adapter.notifyItemRangeInserted(2, 2);
+
+		// Items 0-1, inserted items 2-3, gap, items 4-11
+		assertEquals(Collections.singletonList("insert 2 2"), notifications);
+		assertTrue(retroAdapter.hasGap(4));
+		assertTrue(retroAdapter.isLoadingRow(4));
+		assertEquals(5, retroAdapter.getItemPositionFromAdapter(4));
+	}
+
+	@Test
+	public void removedRangeIsSplitAroundGaps() {
+		retroAdapter.addGap(3);
+		retroAdapter.addGap(6);
+		notifications.clear();
+
+		// Items 2-6 are removed, the gaps before items 3 and 6 stay
+		adapter.itemCount = 5;
+		adapter.notifyItemRangeRemoved(2, 5);
+
+		assertEquals(Arrays.asList("remove 2 1", "remove 3 3", "remove 4 1"), notifications);
+		// Items 0-1, both gaps collapsed before item 2, items 2-4
+		assertEquals(7, retroAdapter.getItemCount());
+		assertTrue(retroAdapter.isLoadingRow(2));
+		assertTrue(retroAdapter.isLoadingRow(3));
+		assertEquals(4, retroAdapter.getItemPositionFromAdapter(2));
+		assertEquals(2, retroAdapter.getItemPositionInAdapter(4));
+		assertTrue(retroAdapter.hasGap(2));
+	}
+
+	@Test
+	public void removingGapNotifiesItsRow() {
+		retroAdapter.displayStartLoadingRow(true);
+		retroAdapter.addGap(3);
+		notifications.clear();
+
+		retroAdapter.removeGap(3);
+
+		assertEquals(Collections.singletonList("remove 4 1"), notifications);
+		assertFalse(retroAdapter.hasGap(3));
+		assertEquals(4, retroAdapter.getItemPositionFromAdapter(3));
+	}
+
+	private static class TestAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+		private int itemCount;
+
+		@Override
+		public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getItemCount() {
+			return itemCount;
+		}
+	}
+
+	private class RecordingObserver extends RecyclerView.AdapterDataObserver {
+
+		@Override
+		public void onItemRangeInserted(int positionStart, int itemCount) {
+			notifications.add("insert " + positionStart + " " + itemCount);
+		}
+
+		@Override
+		public void onItemRangeRemoved(int positionStart, int itemCount) {
+			notifications.add("remove " + positionStart + " " + itemCount);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.paginate.source;
+
+import android.content.ComponentCallbacks2;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class PageCacheTest {
+
+	private static final PageCache.SizeEstimator<Integer, String> ITEM_COUNT =
+			new PageCache.SizeEstimator<Integer, String>() {
+				@Override
+				public int sizeOf(Page<Integer, String> page) {
+					return page.getItems().size();
+				}
+			};
+
+	@Test
+	public void evictsLeastRecentlyUsedPage() {
+		PageCache<Integer, String> cache = new PageCache<>(2);
+		cache.put(page(1, 1));
+		cache.put(page(2, 1));
+		cache.get(1);
+
+		cache.put(page(3, 1));
+
+		assertNotNull(cache.get(1));
+		assertNull(cache.get(2));
+		assertNotNull(cache.get(3));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void evictsBySize() {
+		PageCache<Integer, String> cache = new PageCache<>(10, ITEM_COUNT);
+		cache.put(page(1, 4));
+		cache.put(page(2, 4));
+		cache.put(page(3, 4));
+
+		assertNull(cache.get(1));
+		assertEquals(8, cache.size());
+	}
+
+	@Test
+	public void replacedPageIsCountedOnce() {
+		PageCache<Integer, String> cache = new PageCache<>(10, ITEM_COUNT);
+		cache.put(page(1, 4));
+		cache.put(page(1, 6));
+
+		assertEquals(6, cache.size());
+		assertEquals(6, cache.get(1).getItems().size());
+
+		cache.remove(1);
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void trimToSizeEvictsLeastRecentlyUsedPages() {
+		PageCache<Integer, String> cache = new PageCache<>(10, ITEM_COUNT);
+		cache.put(page(1, 3));
+		cache.put(page(2, 3));
+		cache.put(page(3, 3));
+		cache.get(1);
+
+		cache.trimToSize(4);
+
+		assertNotNull(cache.get(1));
+		assertNull(cache.get(2));
+		assertNull(cache.get(3));
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void trimMemoryTrimsToHalfOrClears() {
+		PageCache<Integer, String> cache = new PageCache<>(4);
+		for (int key = 0; key < 4; key++) {
+			cache.put(page(key, 1));
+		}
+
+		cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		assertEquals(4, cache.size());
+
+		cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+		assertEquals(2, cache.size());
+		assertNull(cache.get(1));
+		assertNotNull(cache.get(3));
+
+		cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+		assertEquals(0, cache.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNonPositiveMaxSize() {
+		new PageCache<Integer, String>(0);
+	}
+
+	private static Page<Integer, String> page(int key, int itemCount) {
+		return new Page<>(key, Arrays.asList(new String[itemCount]), null, null);
+	}
+}
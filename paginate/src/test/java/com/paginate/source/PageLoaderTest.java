@@ -0,0 +1,182 @@
+package com.paginate.source;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 23)
+public class PageLoaderTest {
+
+	private static final int PAGE_COUNT = 5;
+
+	private final List<Runnable> tasks = new ArrayList<>();
+	private final List<Integer> loadedKeys = new ArrayList<>();
+
+	private final Executor executor = new Executor() {
+		@Override
+		public void execute(Runnable task) {
+			tasks.add(task);
+		}
+	};
+
+	private final SequentialPageSource<Integer, String> pageSource = new SequentialPageSource<Integer, String>() {
+		@Override
+		public Page<Integer, String> loadPage(Integer key) {
+			return new Page<>(key, Collections.singletonList("Item " + key),
+					key > 0 ? key - 1 : null,
+					key < PAGE_COUNT - 1 ? key + 1 : null);
+		}
+
+		@Override
+		public Integer getKeyAfter(Integer key) {
+			return key + 1;
+		}
+	};
+
+	private final PageLoader.Listener<Integer, String> listener = new PageLoader.Listener<Integer, String>() {
+		@Override
+		public void onPageLoaded(PageLoader.Direction direction, Page<Integer, String> page) {
+			loadedKeys.add(page.getKey());
+		}
+
+		@Override
+		public void onPageLoadFailed(PageLoader.Direction direction, Throwable error) {
+			fail("Page load failed: " + error);
+		}
+	};
+
+	private PageLoader<Integer, String> pageLoader;
+
+	@Before
+	public void setUp() {
+		ShadowLooper.pauseMainLooper();
+		pageLoader = new PageLoader.Builder<>(pageSource, 0, listener)
+				.setExecutor(executor)
+				.build();
+	}
+
+	@Test
+	public void loadsOnePagePerLoadMore() {
+		pageLoader.onLoadMore();
+		pageLoader.onLoadMore();
+		assertEquals(1, tasks.size());
+		assertTrue(pageLoader.isLoading());
+
+		runTasks();
+		ShadowLooper.runUiThreadTasks();
+
+		assertEquals(Collections.singletonList(0), loadedKeys);
+		assertFalse(pageLoader.isLoading());
+		assertTrue(tasks.isEmpty());
+	}
+
+	@Test
+	public void loadsAllPagesInOrder() {
+		while (!pageLoader.hasLoadedAllItems()) {
+			pageLoader.onLoadMore();
+			runTasks();
+			ShadowLooper.runUiThreadTasks();
+		}
+
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), loadedKeys);
+	}
+
+	@Test
+	public void cancelDropsPendingPage() {
+		pageLoader.onLoadMore();
+		runTasks();
+		pageLoader.cancel();
+		ShadowLooper.runUiThreadTasks();
+
+		assertTrue(loadedKeys.isEmpty());
+		assertFalse(pageLoader.isLoading());
+	}
+
+	@Test
+	public void deliversPrefetchedPagesInPageOrder() {
+		pageLoader = prefetchingLoader();
+		pageLoader.onLoadMore();
+		assertEquals(3, tasks.size());
+		assertTrue(pageLoader.isLoading());
+
+		// Pages finish out of order
+		runTasksInReverseOrder();
+		ShadowLooper.runUiThreadTasks();
+
+		assertEquals(Collections.singletonList(0), loadedKeys);
+		assertFalse(pageLoader.isLoading());
+
+		while (!pageLoader.hasLoadedAllItems()) {
+			pageLoader.onLoadMore();
+			runTasksInReverseOrder();
+			ShadowLooper.runUiThreadTasks();
+		}
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), loadedKeys);
+	}
+
+	@Test
+	public void deliversPrefetchedPageAfterRequestingStack() {
+		pageLoader = prefetchingLoader();
+		pageLoader.onLoadMore();
+		runTasksInReverseOrder();
+		ShadowLooper.runUiThreadTasks();
+
+		pageLoader.onLoadMore();
+		assertEquals(Collections.singletonList(0), loadedKeys);
+
+		ShadowLooper.runUiThreadTasks();
+		assertEquals(Arrays.asList(0, 1), loadedKeys);
+	}
+
+	@Test
+	public void cancelDropsPrefetchedPages() {
+		pageLoader = prefetchingLoader();
+		pageLoader.onLoadMore();
+		runTasksInReverseOrder();
+		pageLoader.cancel();
+		ShadowLooper.runUiThreadTasks();
+
+		assertTrue(loadedKeys.isEmpty());
+		assertFalse(pageLoader.isLoading());
+	}
+
+	private PageLoader<Integer, String> prefetchingLoader() {
+		return new PageLoader.Builder<>(pageSource, 0, listener)
+				.setExecutor(executor)
+				.setPrefetchDepth(2)
+				.setMaxConcurrentLoads(3)
+				.build();
+	}
+
+	private void runTasks() {
+		List<Runnable> pending = new ArrayList<>(tasks);
+		tasks.clear();
+		for (Runnable task : pending) {
+			task.run();
+		}
+	}
+
+	private void runTasksInReverseOrder() {
+		List<Runnable> pending = new ArrayList<>(tasks);
+		tasks.clear();
+		Collections.reverse(pending);
+		for (Runnable task : pending) {
+			task.run();
+		}
+	}
+}
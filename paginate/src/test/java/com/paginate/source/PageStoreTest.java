@@ -0,0 +1,156 @@
+package com.paginate.source;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PageStoreTest {
+
+	private static final PageStore.Serializer<Integer, String> SERIALIZER =
+			new PageStore.Serializer<Integer, String>() {
+				@Override
+				public void writePage(Page<Integer, String> page, DataOutput output) throws IOException {
+					output.writeInt(page.getKey());
+					output.writeInt(page.getItems().size());
+					for (String item : page.getItems()) {
+						output.writeUTF(item);
+					}
+				}
+
+				@Override
+				public Page<Integer, String> readPage(DataInput input) throws IOException {
+					int key = input.readInt();
+					int itemCount = input.readInt();
+					List<String> items = new ArrayList<>(itemCount);
+					for (int i = 0; i < itemCount; i++) {
+						items.add(input.readUTF());
+					}
+					return new Page<>(key, items, key > 0 ? key - 1 : null, key + 1);
+				}
+			};
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("pagestore", ".bin");
+		assertTrue(file.delete());
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+		new File(file.getPath() + ".tmp").delete();
+	}
+
+	@Test
+	public void readsLastPagesInOrder() throws IOException {
+		PageStore<Integer, String> store = new PageStore<>(file, SERIALIZER, 5);
+		for (int key = 0; key < 4; key++) {
+			store.append(page(key));
+		}
+
+		assertEquals(keys(2, 3), keysOf(store.readLast(2)));
+		assertEquals(keys(0, 1, 2, 3), keysOf(store.readLast(10)));
+		assertEquals("item 3", store.readLast(1).get(0).getItems().get(0));
+	}
+
+	@Test
+	public void reopenedStoreReadsAppendedPages() throws IOException {
+		PageStore<Integer, String> store = new PageStore<>(file, SERIALIZER, 5);
+		store.append(page(0));
+		store.append(page(1));
+
+		PageStore<Integer, String> reopened = new PageStore<>(file, SERIALIZER, 5);
+		assertEquals(keys(0, 1), keysOf(reopened.readLast(5)));
+
+		reopened.append(page(2));
+		assertEquals(keys(0, 1, 2), keysOf(new PageStore<>(file, SERIALIZER, 5).readLast(5)));
+	}
+
+	@Test
+	public void tornTrailingRecordIsDropped() throws IOException {
+		PageStore<Integer, String> store = new PageStore<>(file, SERIALIZER, 5);
+		store.append(page(0));
+		store.append(page(1));
+		long length = file.length();
+		store.append(page(2));
+		truncate(length + 6); // Length prefix and part of the last record
+
+		PageStore<Integer, String> reopened = new PageStore<>(file, SERIALIZER, 5);
+		assertEquals(keys(0, 1), keysOf(reopened.readLast(5)));
+		assertEquals(length, file.length());
+
+		reopened.append(page(3));
+		assertEquals(keys(0, 1, 3), keysOf(new PageStore<>(file, SERIALIZER, 5).readLast(5)));
+	}
+
+	@Test
+	public void compactsToMaxPageCount() throws IOException {
+		PageStore<Integer, String> store = new PageStore<>(file, SERIALIZER, 2);
+		store.append(page(0));
+		store.append(page(1));
+		store.append(page(2));
+		long uncompactedLength = file.length();
+
+		store.append(page(3));
+
+		assertTrue(file.length() < uncompactedLength);
+		assertEquals(keys(2, 3), keysOf(store.readLast(5)));
+		assertEquals(keys(2, 3), keysOf(new PageStore<>(file, SERIALIZER, 2).readLast(5)));
+
+		store.append(page(4));
+		assertEquals(keys(3, 4), keysOf(store.readLast(2)));
+	}
+
+	@Test
+	public void clearRemovesPages() throws IOException {
+		PageStore<Integer, String> store = new PageStore<>(file, SERIALIZER, 5);
+		store.append(page(0));
+
+		store.clear();
+		assertTrue(store.readLast(5).isEmpty());
+
+		store.append(page(1));
+		assertEquals(keys(1), keysOf(new PageStore<>(file, SERIALIZER, 5).readLast(5)));
+	}
+
+	private void truncate(long length) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		try {
+			randomAccessFile.setLength(length);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private static Page<Integer, String> page(int key) {
+		return new Page<>(key, Collections.singletonList("item " + key), null, null);
+	}
+
+	private static List<Integer> keys(Integer... keys) {
+		List<Integer> list = new ArrayList<>();
+		Collections.addAll(list, keys);
+		return list;
+	}
+
+	private static List<Integer> keysOf(List<Page<Integer, String>> pages) {
+		List<Integer> keys = new ArrayList<>(pages.size());
+		for (Page<Integer, String> page : pages) {
+			keys.add(page.getKey());
+		}
+		return keys;
+	}
+}